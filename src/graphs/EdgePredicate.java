@@ -0,0 +1,20 @@
+package graphs;
+
+/**
+ * Decides which edges of a snapshot belong to a subgraph view.
+ *
+ * @author Thomas Arnaud, Bruno Buiret
+ */
+public interface EdgePredicate
+{
+    /**
+     * Tests if an edge belongs to the subgraph, the answer being expected to
+     * be the same in both directions.
+     *
+     * @param nodeId1 Node 1's identifier.
+     * @param nodeId2 Node 2's identifier.
+     * @return <code>true</code> if the edge belongs to the subgraph,
+     * <code>false</code> otherwise.
+     */
+    public boolean accept(int nodeId1, int nodeId2);
+}
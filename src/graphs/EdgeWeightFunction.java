@@ -0,0 +1,18 @@
+package graphs;
+
+/**
+ * Computes the weight of an edge between two words when a graph is loaded.
+ *
+ * @author Thomas Arnaud, Bruno Buiret
+ */
+public interface EdgeWeightFunction
+{
+    /**
+     * Computes the weight of an edge.
+     *
+     * @param nodeName1 Node 1's name.
+     * @param nodeName2 Node 2's name.
+     * @return Edge's weight, positive or zero.
+     */
+    public double getWeight(String nodeName1, String nodeName2);
+}
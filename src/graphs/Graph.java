@@ -1,20 +1,24 @@
 package graphs;
 
-import java.io.BufferedReader;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.Stack;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author Thomas Arnaud, Bruno Buiret
@@ -63,11 +67,24 @@ public class Graph
      */
     public Graph(String graphName)
     {
+        this(graphName, 16);
+    }
+
+    /**
+     * Creates a new graph with a name and room for a number of nodes.
+     *
+     * @param graphName Graph's name.
+     * @param expectedNodesNumber Expected number of nodes.
+     */
+    protected Graph(String graphName, int expectedNodesNumber)
+    {
+        int capacity = expectedNodesNumber * 4 / 3 + 1;
+
         this.graphName = graphName;
-        this.nodes = new HashSet<Integer>();
-        this.edges = new HashMap<Integer, Set<Integer>>();
+        this.nodes = new HashSet<Integer>(capacity);
+        this.edges = new HashMap<Integer, Set<Integer>>(capacity);
         this.edgesNumber = 0;
-        this.nodeNames = new HashMap<Integer, String>();
+        this.nodeNames = new HashMap<Integer, String>(capacity);
     }
 
     /**
@@ -464,125 +481,143 @@ public class Graph
     }
 
     /**
-     * Performs the Dijkstra algorithm on the graph.
+     * Performs the Dijkstra algorithm on the graph, every edge weighing one.
      *
-     * @param startNodeIndex Start node's index.
+     * @param from Start node's name.
+     * @param to End node's name.
+     * @return Nodes' indexes along a shortest path, empty if both nodes aren't
+     * connected.
+     * @throws java.lang.Exception Thrown if one of the nodes doesn't exist.
      */
     public LinkedList<Integer> dijkstra(String from, String to) throws Exception
     {
-        if(this.nodeNames.containsValue(from))
+        int fromIndex = this.getNodeIndex(from);
+        int toIndex = this.getNodeIndex(to);
+
+        // Number the nodes densely so that they fit inside an indexed heap
+        Map<Integer, Integer> nodeIds = new HashMap<Integer, Integer>(this.nodes.size() * 4 / 3 + 1);
+        int[] nodeIndexes = new int[this.nodes.size()];
+
+        for(int nodeIndex : this.nodes)
         {
-            if(this.nodeNames.containsValue(to))
+            nodeIndexes[nodeIds.size()] = nodeIndex;
+            nodeIds.put(nodeIndex, nodeIds.size());
+        }
+
+        IndexedHeap heap = new IndexedHeap(nodeIndexes.length);
+        double[] distances = new double[nodeIndexes.length];
+        int[] parents = new int[nodeIndexes.length];
+        int fromId = nodeIds.get(fromIndex), toId = nodeIds.get(toIndex);
+
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Arrays.fill(parents, -1);
+        distances[fromId] = 0;
+        heap.insertOrDecrease(fromId, 0);
+
+        while(!heap.isEmpty())
+        {
+            int minId = heap.poll();
+
+            if(minId == toId)
             {
-                int fromIndex = 0, toIndex = 0;
-                boolean fromFound = false, toFound = false;
-                
-                for(Map.Entry<Integer, String> entry : this.nodeNames.entrySet())
-                {
-                    if(entry.getValue().equals(from))
-                    {
-                        fromIndex = entry.getKey();
-                        fromFound = true;
-                    }
-                    if(entry.getValue().equals(to))
-                    {
-                        toIndex = entry.getKey();
-                        toFound = true;
-                    }
-                    
-                    if(fromFound && toFound)
-                    {
-                        break;
-                    }
-                }
-                
-                // Dijkstra
-                Map<Integer, Integer> distances = new HashMap<Integer, Integer>();
-                Map<Integer, Integer> parents = new HashMap<Integer, Integer>();
-                List<Integer> list = new ArrayList<Integer>(this.nodes);
-                
-                list.remove(fromIndex);
-                distances.put(fromIndex, 0);
-                parents.put(fromIndex, 0);
-                
-                for(int nodeIndex : list)
-                {
-                    if(this.edgeExists(fromIndex, nodeIndex))
-                    {
-                        distances.put(nodeIndex, 1);
-                        parents.put(nodeIndex, fromIndex);
-                    }
-                    else
-                    {
-                        distances.put(nodeIndex, Integer.MAX_VALUE);
-                    }
-                }
-                
-                while(!list.isEmpty())
-                {
-                    int min = Integer.MAX_VALUE;
-                    int minIndex = 0;
-                    
-                    for(int nodeIndex : list)
-                    {
-                        if(distances.get(nodeIndex) < min)
-                        {
-                            min = distances.get(nodeIndex);
-                            minIndex = nodeIndex;
-                        }
-                    }
-                    
-                    list.remove(list.indexOf(minIndex));
-                    /*
-                    int listIndex = 0;
-                    
-                    for(int i = 0; i < list.size(); i++)
-                    {
-                        if(distances.get(list.get(i)) < distances.get(list.get(listIndex)))
-                        {
-                            listIndex = i;
-                        }
-                    }
-                    
-                    int minIndex = list.get(listIndex);
-                    list.remove(listIndex);
-                    */
-                    
-                    for(int neighbourIndex : this.edges.get(minIndex))
-                    {
-                        if(list.contains(neighbourIndex) && distances.get(minIndex) + 1 < distances.get(neighbourIndex))
-                        {
-                            distances.put(neighbourIndex, distances.get(minIndex) + 1);
-                            parents.put(neighbourIndex, minIndex);
-                        }
-                    }
-                }
-                
-                LinkedList<Integer> chain = new LinkedList<Integer>();
-                chain.add(toIndex);
-                
-                int nodeIndex = parents.get(toIndex);
-                
-                while(nodeIndex != 0)
+                break;
+            }
+
+            for(int neighbourIndex : this.edges.get(nodeIndexes[minId]))
+            {
+                int neighbourId = nodeIds.get(neighbourIndex);
+
+                if(distances[minId] + 1 < distances[neighbourId])
                 {
-                    System.out.println("Parent : " + nodeIndex);
-                    chain.addFirst(nodeIndex);
-                    nodeIndex = parents.get(nodeIndex);
+                    distances[neighbourId] = distances[minId] + 1;
+                    parents[neighbourId] = minId;
+                    heap.insertOrDecrease(neighbourId, distances[neighbourId]);
                 }
-                
-                return chain;
             }
-            else
+        }
+
+        LinkedList<Integer> chain = new LinkedList<Integer>();
+
+        if(distances[toId] != Double.POSITIVE_INFINITY)
+        {
+            for(int nodeId = toId; nodeId != -1; nodeId = parents[nodeId])
             {
-                throw new Exception("No node called " + to);
+                chain.addFirst(nodeIndexes[nodeId]);
             }
         }
-        else
+
+        return chain;
+    }
+
+    /**
+     * Gets the index of the node called by a name.
+     *
+     * @param nodeName Node's name.
+     * @return Node's index.
+     * @throws java.lang.Exception Thrown if no node is called by this name.
+     */
+    public int getNodeIndex(String nodeName) throws Exception
+    {
+        for(Map.Entry<Integer, String> entry : this.nodeNames.entrySet())
         {
-            throw new Exception("No node called " + from);
+            if(nodeName.equals(entry.getValue()))
+            {
+                return entry.getKey();
+            }
         }
+
+        throw new Exception("No node called " + nodeName);
     }
-    
+
+    /**
+     * Lazily enumerates every shortest path between two nodes.
+     *
+     * @param from Start node's name.
+     * @param to End node's name.
+     * @return Iterator over the shortest paths, in no particular order.
+     * @throws java.lang.Exception Thrown if one of the nodes doesn't exist.
+     * @see graphs.ShortestPathsIterator
+     */
+    public Iterator<LinkedList<Integer>> getShortestPaths(String from, String to) throws Exception
+    {
+        return new ShortestPathsIterator(this.edges, this.getNodeIndex(from), this.getNodeIndex(to));
+    }
+
+    /**
+     * Lazily streams every shortest path between two nodes.
+     *
+     * @param from Start node's name.
+     * @param to End node's name.
+     * @return Sequential stream of the shortest paths.
+     * @throws java.lang.Exception Thrown if one of the nodes doesn't exist.
+     * @see graphs.Graph#getShortestPaths(String, String)
+     */
+    public Stream<LinkedList<Integer>> getShortestPathsStream(String from, String to) throws Exception
+    {
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                this.getShortestPaths(from, to),
+                Spliterator.ORDERED | Spliterator.NONNULL
+            ),
+            false
+        );
+    }
+
+    /**
+     * Lazily enumerates the k shortest simple paths between two nodes.
+     *
+     * @param from Start node's name.
+     * @param to End node's name.
+     * @param k Maximum number of paths.
+     * @return Iterator over the paths, shortest first.
+     * @throws java.lang.Exception Thrown if one of the nodes doesn't exist.
+     * @see graphs.KShortestPathsIterator
+     */
+    public Iterator<LinkedList<Integer>> getKShortestPaths(String from, String to, int k) throws Exception
+    {
+        return new KShortestPathsIterator(this.edges, this.getNodeIndex(from), this.getNodeIndex(to), k);
+    }
+
     public List<Integer> getNeighbourlessNodes()
     {
         List<Integer> neighbourlessNodes = new ArrayList<Integer>();
@@ -616,6 +651,30 @@ public class Graph
         return neighboursNumber;
     }
     
+    /**
+     * Creates an immutable and compact copy of the graph.
+     *
+     * @return Graph's snapshot.
+     * @see graphs.GraphSnapshot#of(Graph)
+     */
+    public GraphSnapshot toSnapshot()
+    {
+        return GraphSnapshot.of(this);
+    }
+
+    /**
+     * Creates an immutable and compact copy of the graph, nodes being
+     * numbered in a given order.
+     *
+     * @param ordering Nodes' order.
+     * @return Graph's snapshot.
+     * @see graphs.GraphSnapshot#of(Graph, NodeOrdering)
+     */
+    public GraphSnapshot toSnapshot(NodeOrdering ordering)
+    {
+        return GraphSnapshot.of(this, ordering);
+    }
+
     /**
      * Gets a string representation of the graph that can be used with GraphViz.
      *
@@ -684,29 +743,7 @@ public class Graph
     {
         try 
         {
-            BufferedReader buffer = new BufferedReader(new FileReader(fileName));
-            Graph graph = new Graph();
-            String line;
-            int nodeIndex = 1;
-            
-            while((line = buffer.readLine()) != null)
-            {
-                graph.addNode(nodeIndex, line);
-                
-                for(Map.Entry<Integer, String> entry : graph.getNodeNames().entrySet())
-                {
-                    if(nodeIndex != entry.getKey())
-                    {
-                        if(Graph.levenshtein(line, entry.getValue()) == 1)
-                        {
-                            graph.addEdge(nodeIndex, entry.getKey());       
-                        }
-                    }
-                }
-                nodeIndex ++;
-            }
-            
-            return graph;
+            return GraphBuilder.loadWords(fileName, null).build();
         } 
         catch (FileNotFoundException ex) 
         {
@@ -832,9 +869,8 @@ public class Graph
             System.out.println("Le nombre maximum de voisins est de : " + neighboursNumberMax);
             // Le nombre maximum de voisins est de : 28
             
-            // Nous étions en train de faire Dijkstra mais nous avons un bug : un noeud x a
-            // pour parent le noeud y qui a lui-même pour parent x et nous n'avons pas
-            // eu le temps de résoudre le problème.
+            System.out.println("Le plus court chemin entre DESSUS et BANALE est de longueur : " + (g.dijkstra("DESSUS", "BANALE").size() - 1));
+            // Le plus court chemin entre DESSUS et BANALE est de longueur : 12
         }
         catch(Exception e)
         {
@@ -0,0 +1,435 @@
+package graphs;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+/**
+ * Computes structural statistics of a snapshot: triangles, clustering
+ * coefficients and k-core decomposition.
+ *
+ * Triangles are counted in parallel by intersecting sorted neighbour lists,
+ * each edge being oriented towards its higher degree node so that every
+ * triangle is only found once, and cores are peeled in linear time with a
+ * bucket queue.
+ *
+ * @author Thomas Arnaud, Bruno Buiret
+ */
+public class GraphAnalytics
+{
+    /**
+     * Size ratio above which galloping beats merging two neighbour lists.
+     */
+    protected static final int GALLOPING_RATIO = 16;
+
+    /**
+     * Snapshot being analysed.
+     */
+    protected final GraphSnapshot snapshot;
+
+    /**
+     * Creates a new analytics engine.
+     *
+     * @param snapshot Snapshot to analyse.
+     */
+    public GraphAnalytics(GraphSnapshot snapshot)
+    {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Counts the triangles each node belongs to.
+     *
+     * @return Number of triangles of each node.
+     */
+    public long[] countTriangles()
+    {
+        final int nodesNumber = this.snapshot.getNodesNumber();
+        final int[] offsets = this.snapshot.offsets;
+        final int[] targets = this.snapshot.targets;
+
+        // Orient each edge towards its node of higher (degree, identifier)
+        // rank: every triangle is then found once, from its lowest ranked
+        // node, and no node keeps more than about sqrt(2m) successors
+        final int[] outOffsets = new int[nodesNumber + 1];
+
+        for(int nodeId1 = 0; nodeId1 < nodesNumber; nodeId1++)
+        {
+            outOffsets[nodeId1 + 1] = outOffsets[nodeId1];
+
+            for(int i = offsets[nodeId1]; i < offsets[nodeId1 + 1]; i++)
+            {
+                if(this.isRankedHigher(targets[i], nodeId1))
+                {
+                    outOffsets[nodeId1 + 1]++;
+                }
+            }
+        }
+
+        final int[] outTargets = new int[outOffsets[nodesNumber]];
+
+        for(int nodeId1 = 0, j = 0; nodeId1 < nodesNumber; nodeId1++)
+        {
+            for(int i = offsets[nodeId1]; i < offsets[nodeId1 + 1]; i++)
+            {
+                if(this.isRankedHigher(targets[i], nodeId1))
+                {
+                    outTargets[j++] = targets[i];
+                }
+            }
+        }
+
+        // Successors stay sorted by identifier, so they can be intersected
+        // directly, each triangle being credited to its three nodes
+        final AtomicLongArray triangles = new AtomicLongArray(nodesNumber);
+
+        IntStream.range(0, nodesNumber).parallel().forEach(new IntConsumer()
+        {
+            @Override
+            public void accept(int nodeId1)
+            {
+                long count = 0;
+
+                for(int i = outOffsets[nodeId1]; i < outOffsets[nodeId1 + 1]; i++)
+                {
+                    int nodeId2 = outTargets[i];
+                    int common = GraphAnalytics.intersect(
+                        outTargets, outOffsets[nodeId1], outOffsets[nodeId1 + 1],
+                        outOffsets[nodeId2], outOffsets[nodeId2 + 1], triangles
+                    );
+
+                    if(common > 0)
+                    {
+                        triangles.addAndGet(nodeId2, common);
+                        count += common;
+                    }
+                }
+
+                if(count > 0)
+                {
+                    triangles.addAndGet(nodeId1, count);
+                }
+            }
+        });
+
+        long[] counts = new long[nodesNumber];
+
+        for(int nodeId = 0; nodeId < nodesNumber; nodeId++)
+        {
+            counts[nodeId] = triangles.get(nodeId);
+        }
+
+        return counts;
+    }
+
+    /**
+     * Tests if a node is ranked higher than another one, nodes being ranked
+     * by degree then by identifier.
+     *
+     * @param nodeId1 Node 1's identifier.
+     * @param nodeId2 Node 2's identifier.
+     * @return <code>true</code> if node 1 is ranked higher than node 2,
+     * <code>false</code> otherwise.
+     */
+    protected boolean isRankedHigher(int nodeId1, int nodeId2)
+    {
+        int degree1 = this.snapshot.getNodeDegree(nodeId1);
+        int degree2 = this.snapshot.getNodeDegree(nodeId2);
+
+        return degree1 > degree2 || (degree1 == degree2 && nodeId1 > nodeId2);
+    }
+
+    /**
+     * Gets the total number of triangles.
+     *
+     * @param triangles Number of triangles of each node.
+     * @return Triangles number.
+     */
+    public static long getTrianglesNumber(long[] triangles)
+    {
+        long sum = 0;
+
+        for(long count : triangles)
+        {
+            sum += count;
+        }
+
+        return sum / 3;
+    }
+
+    /**
+     * Computes the local clustering coefficient of each node, that is the
+     * fraction of its pairs of neighbours which are neighbours themselves.
+     *
+     * @param triangles Number of triangles of each node.
+     * @return Local clustering coefficients, <code>0</code> for nodes with
+     * less than two neighbours.
+     */
+    public double[] getLocalClusteringCoefficients(long[] triangles)
+    {
+        double[] coefficients = new double[triangles.length];
+
+        for(int nodeId = 0; nodeId < triangles.length; nodeId++)
+        {
+            long degree = this.snapshot.getNodeDegree(nodeId);
+
+            if(degree > 1)
+            {
+                coefficients[nodeId] = 2.0 * triangles[nodeId] / (degree * (degree - 1));
+            }
+        }
+
+        return coefficients;
+    }
+
+    /**
+     * Computes the average of the local clustering coefficients.
+     *
+     * @param coefficients Local clustering coefficients.
+     * @return Average clustering coefficient.
+     */
+    public static double getAverageClusteringCoefficient(double[] coefficients)
+    {
+        double sum = 0;
+
+        for(double coefficient : coefficients)
+        {
+            sum += coefficient;
+        }
+
+        return coefficients.length > 0 ? sum / coefficients.length : 0;
+    }
+
+    /**
+     * Computes the global clustering coefficient, that is the fraction of
+     * paths of length two which are closed by a triangle.
+     *
+     * @param triangles Number of triangles of each node.
+     * @return Global clustering coefficient.
+     */
+    public double getGlobalClusteringCoefficient(long[] triangles)
+    {
+        long triples = 0;
+
+        for(int nodeId = 0; nodeId < triangles.length; nodeId++)
+        {
+            long degree = this.snapshot.getNodeDegree(nodeId);
+
+            triples += degree * (degree - 1) / 2;
+        }
+
+        return triples > 0 ? 3.0 * GraphAnalytics.getTrianglesNumber(triangles) / triples : 0;
+    }
+
+    /**
+     * Computes the core number of each node, that is the largest k such that
+     * the node belongs to a subgraph where every node has at least k
+     * neighbours.
+     *
+     * @return Core number of each node.
+     */
+    public int[] getCoreNumbers()
+    {
+        int nodesNumber = this.snapshot.getNodesNumber();
+        int maxDegree = 0;
+        int[] degrees = new int[nodesNumber];
+
+        for(int nodeId = 0; nodeId < nodesNumber; nodeId++)
+        {
+            degrees[nodeId] = this.snapshot.getNodeDegree(nodeId);
+            maxDegree = Math.max(maxDegree, degrees[nodeId]);
+        }
+
+        // Sort the nodes by degree with a counting sort, bucketStarts[d]
+        // being where nodes of degree d start inside sortedNodes
+        int[] bucketStarts = new int[maxDegree + 2];
+        int[] sortedNodes = new int[nodesNumber];
+        int[] positions = new int[nodesNumber];
+
+        for(int degree : degrees)
+        {
+            bucketStarts[degree + 1]++;
+        }
+
+        for(int degree = 0; degree <= maxDegree; degree++)
+        {
+            bucketStarts[degree + 1] += bucketStarts[degree];
+        }
+
+        int[] cursors = bucketStarts.clone();
+
+        for(int nodeId = 0; nodeId < nodesNumber; nodeId++)
+        {
+            positions[nodeId] = cursors[degrees[nodeId]]++;
+            sortedNodes[positions[nodeId]] = nodeId;
+        }
+
+        // Peel the nodes by increasing remaining degree, which then becomes
+        // their core number
+        for(int i = 0; i < nodesNumber; i++)
+        {
+            int nodeId1 = sortedNodes[i];
+
+            for(int j = this.snapshot.offsets[nodeId1]; j < this.snapshot.offsets[nodeId1 + 1]; j++)
+            {
+                int nodeId2 = this.snapshot.targets[j];
+
+                if(degrees[nodeId2] > degrees[nodeId1])
+                {
+                    // Swap the neighbour with the first node of its bucket,
+                    // then shrink the bucket by one
+                    int degree = degrees[nodeId2];
+                    int firstPosition = bucketStarts[degree];
+                    int firstNodeId = sortedNodes[firstPosition];
+
+                    if(firstNodeId != nodeId2)
+                    {
+                        sortedNodes[positions[nodeId2]] = firstNodeId;
+                        positions[firstNodeId] = positions[nodeId2];
+                        sortedNodes[firstPosition] = nodeId2;
+                        positions[nodeId2] = firstPosition;
+                    }
+
+                    bucketStarts[degree]++;
+                    degrees[nodeId2]--;
+                }
+            }
+        }
+
+        return degrees;
+    }
+
+    /**
+     * Counts the common values of two sorted slices of an array, merging
+     * them when their sizes are close and galloping through the largest one
+     * otherwise.
+     *
+     * @param values Array.
+     * @param from1 First slice's start, inclusive.
+     * @param to1 First slice's end, exclusive.
+     * @param from2 Second slice's start, inclusive.
+     * @param to2 Second slice's end, exclusive.
+     * @param counts Counts incremented at each common value.
+     * @return Number of common values.
+     */
+    protected static int intersect(int[] values, int from1, int to1, int from2, int to2, AtomicLongArray counts)
+    {
+        if(to1 - from1 > to2 - from2)
+        {
+            return GraphAnalytics.intersect(values, from2, to2, from1, to1, counts);
+        }
+
+        int count = 0;
+
+        if((long) (to1 - from1) * GraphAnalytics.GALLOPING_RATIO < to2 - from2)
+        {
+            int position = from2;
+
+            for(int i = from1; i < to1 && position < to2; i++)
+            {
+                int value = values[i];
+
+                // Double the step until overshooting, then binary search
+                int step = 1, low = position, high = position;
+
+                while(high < to2 && values[high] < value)
+                {
+                    low = high + 1;
+                    high = position + step;
+                    step *= 2;
+                }
+
+                high = Math.min(high, to2 - 1);
+
+                while(low <= high)
+                {
+                    int middle = (low + high) >>> 1;
+
+                    if(values[middle] < value)
+                    {
+                        low = middle + 1;
+                    }
+                    else
+                    {
+                        high = middle - 1;
+                    }
+                }
+
+                position = low;
+
+                if(position < to2 && values[position] == value)
+                {
+                    counts.incrementAndGet(value);
+                    count++;
+                    position++;
+                }
+            }
+        }
+        else
+        {
+            int i = from1, j = from2;
+
+            while(i < to1 && j < to2)
+            {
+                if(values[i] < values[j])
+                {
+                    i++;
+                }
+                else if(values[i] > values[j])
+                {
+                    j++;
+                }
+                else
+                {
+                    counts.incrementAndGet(values[i]);
+                    count++;
+                    i++;
+                    j++;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Prints the statistics of a words file's graph, by default
+     * <code>motsdelongueur6.txt</code>.
+     *
+     * @param args Command line's arguments: words file's name.
+     */
+    public static void main(String[] args)
+    {
+        try
+        {
+            String fileName = args.length > 0 ? args[0] : "motsdelongueur6.txt";
+            Graph graph = Graph.load(fileName);
+
+            if(graph == null)
+            {
+                throw new Exception("Graph couldn't be loaded from " + fileName);
+            }
+
+            GraphAnalytics analytics = new GraphAnalytics(graph.toSnapshot(NodeOrdering.BREADTH_FIRST));
+            long[] triangles = analytics.countTriangles();
+            int[] coreNumbers = analytics.getCoreNumbers();
+            int maxCoreNumber = 0;
+
+            for(int coreNumber : coreNumbers)
+            {
+                maxCoreNumber = Math.max(maxCoreNumber, coreNumber);
+            }
+
+            System.out.println("Le nombre de triangles est de : " + GraphAnalytics.getTrianglesNumber(triangles));
+            System.out.println("Le coefficient de clustering global est de : " + analytics.getGlobalClusteringCoefficient(triangles));
+            System.out.println("Le coefficient de clustering moyen est de : " + GraphAnalytics.getAverageClusteringCoefficient(analytics.getLocalClusteringCoefficients(triangles)));
+            System.out.println("Le plus grand k-cœur est d'ordre : " + maxCoreNumber);
+        }
+        catch(Exception e)
+        {
+            Logger.getLogger(GraphAnalytics.class.getName()).log(Level.SEVERE, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,825 @@
+package graphs;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Builds a graph or a snapshot from nodes and edges given in bulk.
+ *
+ * Unlike {@link Graph#addNode(int, String)} and
+ * {@link Graph#addEdge(int, int)}, nothing is checked while nodes and edges
+ * are added: duplicates are removed by sorting once everything is known, and
+ * the resulting collections are allocated with their final size.
+ *
+ * Nodes only referenced by edges are added without a name, the first name
+ * given to a node is kept, even if it was first added without one, and
+ * edges from a node to itself are ignored.
+ *
+ * @author Thomas Arnaud, Bruno Buiret
+ */
+public class GraphBuilder
+{
+    /**
+     * Graph's name.
+     */
+    protected String graphName;
+
+    /**
+     * Added nodes' indexes.
+     */
+    protected int[] nodeIndexes;
+
+    /**
+     * Added nodes' names.
+     */
+    protected String[] nodeNames;
+
+    /**
+     * Number of added nodes.
+     */
+    protected int nodesNumber;
+
+    /**
+     * Added edges' first nodes.
+     */
+    protected int[] edgeSources;
+
+    /**
+     * Added edges' second nodes.
+     */
+    protected int[] edgeTargets;
+
+    /**
+     * Added edges' weights, <code>NaN</code> for edges added without one, or
+     * <code>null</code> until a weighted edge is added.
+     */
+    protected double[] edgeWeights;
+
+    /**
+     * Number of added edges.
+     */
+    protected int edgesNumber;
+
+    /**
+     * Creates a new builder for a graph without a name.
+     */
+    public GraphBuilder()
+    {
+        this(null, 16, 16);
+    }
+
+    /**
+     * Creates a new builder.
+     *
+     * @param graphName Graph's name.
+     * @param expectedNodesNumber Expected number of nodes.
+     * @param expectedEdgesNumber Expected number of edges.
+     */
+    public GraphBuilder(String graphName, int expectedNodesNumber, int expectedEdgesNumber)
+    {
+        this.graphName = graphName;
+        this.nodeIndexes = new int[Math.max(1, expectedNodesNumber)];
+        this.nodeNames = new String[this.nodeIndexes.length];
+        this.edgeSources = new int[Math.max(1, expectedEdgesNumber)];
+        this.edgeTargets = new int[this.edgeSources.length];
+    }
+
+    /**
+     * Sets the graph's name.
+     *
+     * @param graphName Graph's name.
+     * @return Builder.
+     */
+    public GraphBuilder setGraphName(String graphName)
+    {
+        this.graphName = graphName;
+
+        return this;
+    }
+
+    /**
+     * Makes sure more nodes can be added.
+     *
+     * @param count Number of nodes about to be added.
+     */
+    protected void ensureNodesCapacity(int count)
+    {
+        if(this.nodesNumber + count > this.nodeIndexes.length)
+        {
+            int capacity = Math.max(this.nodesNumber + count, this.nodeIndexes.length * 2);
+
+            this.nodeIndexes = Arrays.copyOf(this.nodeIndexes, capacity);
+            this.nodeNames = Arrays.copyOf(this.nodeNames, capacity);
+        }
+    }
+
+    /**
+     * Makes sure more edges can be added.
+     *
+     * @param count Number of edges about to be added.
+     */
+    protected void ensureEdgesCapacity(int count)
+    {
+        if(this.edgesNumber + count > this.edgeSources.length)
+        {
+            int capacity = Math.max(this.edgesNumber + count, this.edgeSources.length * 2);
+
+            this.edgeSources = Arrays.copyOf(this.edgeSources, capacity);
+            this.edgeTargets = Arrays.copyOf(this.edgeTargets, capacity);
+
+            if(this.edgeWeights != null)
+            {
+                this.edgeWeights = Arrays.copyOf(this.edgeWeights, capacity);
+            }
+        }
+    }
+
+    /**
+     * Makes sure edges' weights are stored, previous edges having none.
+     */
+    protected void ensureEdgeWeights()
+    {
+        if(this.edgeWeights == null)
+        {
+            this.edgeWeights = new double[this.edgeSources.length];
+            Arrays.fill(this.edgeWeights, 0, this.edgesNumber, Double.NaN);
+        }
+    }
+
+    /**
+     * Checks an edge's weight.
+     *
+     * @param weight Edge's weight.
+     * @throws java.lang.IllegalArgumentException Thrown if the weight is
+     * negative or not a number.
+     */
+    protected static void checkWeight(double weight)
+    {
+        if(!(weight >= 0))
+        {
+            throw new IllegalArgumentException("Edge's weight must be positive or zero, got " + weight + ".");
+        }
+    }
+
+    /**
+     * Adds a node with a name.
+     *
+     * @param nodeIndex Node's index.
+     * @param nodeName Node's name.
+     * @return Builder.
+     */
+    public GraphBuilder addNode(int nodeIndex, String nodeName)
+    {
+        this.ensureNodesCapacity(1);
+        this.nodeIndexes[this.nodesNumber] = nodeIndex;
+        this.nodeNames[this.nodesNumber] = nodeName;
+        this.nodesNumber++;
+
+        return this;
+    }
+
+    /**
+     * Adds nodes without a name.
+     *
+     * @param nodeIndexes Nodes' indexes.
+     * @return Builder.
+     */
+    public GraphBuilder addNodes(int[] nodeIndexes)
+    {
+        this.ensureNodesCapacity(nodeIndexes.length);
+        System.arraycopy(nodeIndexes, 0, this.nodeIndexes, this.nodesNumber, nodeIndexes.length);
+        this.nodesNumber += nodeIndexes.length;
+
+        return this;
+    }
+
+    /**
+     * Adds nodes with names.
+     *
+     * @param nodeIndexes Nodes' indexes.
+     * @param nodeNames Nodes' names, in the same order.
+     * @return Builder.
+     */
+    public GraphBuilder addNodes(int[] nodeIndexes, String[] nodeNames)
+    {
+        if(nodeIndexes.length != nodeNames.length)
+        {
+            throw new IllegalArgumentException("As many names as indexes are expected.");
+        }
+
+        this.ensureNodesCapacity(nodeIndexes.length);
+        System.arraycopy(nodeIndexes, 0, this.nodeIndexes, this.nodesNumber, nodeIndexes.length);
+        System.arraycopy(nodeNames, 0, this.nodeNames, this.nodesNumber, nodeNames.length);
+        this.nodesNumber += nodeIndexes.length;
+
+        return this;
+    }
+
+    /**
+     * Adds an edge between two nodes.
+     *
+     * If the builder holds weighted edges, the edge weighs <code>1</code>
+     * unless the same edge is also added with an explicit weight, which
+     * always takes priority.
+     *
+     * @param nodeIndex1 Node 1's index.
+     * @param nodeIndex2 Node 2's index.
+     * @return Builder.
+     */
+    public GraphBuilder addEdge(int nodeIndex1, int nodeIndex2)
+    {
+        this.ensureEdgesCapacity(1);
+        this.edgeSources[this.edgesNumber] = nodeIndex1;
+        this.edgeTargets[this.edgesNumber] = nodeIndex2;
+
+        if(this.edgeWeights != null)
+        {
+            this.edgeWeights[this.edgesNumber] = Double.NaN;
+        }
+
+        this.edgesNumber++;
+
+        return this;
+    }
+
+    /**
+     * Adds a weighted edge between two nodes, the lowest weight being kept
+     * if the edge is added several times with a weight. Adding the same edge
+     * without a weight doesn't change its weight.
+     *
+     * @param nodeIndex1 Node 1's index.
+     * @param nodeIndex2 Node 2's index.
+     * @param weight Edge's weight, positive or zero.
+     * @return Builder.
+     */
+    public GraphBuilder addEdge(int nodeIndex1, int nodeIndex2, double weight)
+    {
+        GraphBuilder.checkWeight(weight);
+        this.ensureEdgesCapacity(1);
+        this.ensureEdgeWeights();
+        this.edgeSources[this.edgesNumber] = nodeIndex1;
+        this.edgeTargets[this.edgesNumber] = nodeIndex2;
+        this.edgeWeights[this.edgesNumber] = weight;
+        this.edgesNumber++;
+
+        return this;
+    }
+
+    /**
+     * Adds edges between pairs of nodes, weighing like the ones added by
+     * {@link #addEdge(int, int)}.
+     *
+     * @param nodeIndexes1 Nodes 1's indexes.
+     * @param nodeIndexes2 Nodes 2's indexes, in the same order.
+     * @return Builder.
+     */
+    public GraphBuilder addEdges(int[] nodeIndexes1, int[] nodeIndexes2)
+    {
+        if(nodeIndexes1.length != nodeIndexes2.length)
+        {
+            throw new IllegalArgumentException("As many second nodes as first nodes are expected.");
+        }
+
+        this.ensureEdgesCapacity(nodeIndexes1.length);
+        System.arraycopy(nodeIndexes1, 0, this.edgeSources, this.edgesNumber, nodeIndexes1.length);
+        System.arraycopy(nodeIndexes2, 0, this.edgeTargets, this.edgesNumber, nodeIndexes2.length);
+
+        if(this.edgeWeights != null)
+        {
+            Arrays.fill(this.edgeWeights, this.edgesNumber, this.edgesNumber + nodeIndexes1.length, Double.NaN);
+        }
+
+        this.edgesNumber += nodeIndexes1.length;
+
+        return this;
+    }
+
+    /**
+     * Adds weighted edges between pairs of nodes, weights being kept like
+     * the ones given to {@link #addEdge(int, int, double)}.
+     *
+     * @param nodeIndexes1 Nodes 1's indexes.
+     * @param nodeIndexes2 Nodes 2's indexes, in the same order.
+     * @param weights Edges' weights, in the same order.
+     * @return Builder.
+     */
+    public GraphBuilder addEdges(int[] nodeIndexes1, int[] nodeIndexes2, double[] weights)
+    {
+        if(nodeIndexes1.length != weights.length)
+        {
+            throw new IllegalArgumentException("As many weights as first nodes are expected.");
+        }
+
+        for(double weight : weights)
+        {
+            GraphBuilder.checkWeight(weight);
+        }
+
+        int first = this.edgesNumber;
+
+        this.addEdges(nodeIndexes1, nodeIndexes2);
+        this.ensureEdgeWeights();
+        System.arraycopy(weights, 0, this.edgeWeights, first, weights.length);
+
+        return this;
+    }
+
+    /**
+     * Adds edges between pairs of nodes.
+     *
+     * @param edges Pairs of nodes' indexes.
+     * @return Builder.
+     */
+    public GraphBuilder addEdges(Stream<int[]> edges)
+    {
+        Iterator<int[]> iterator = edges.iterator();
+
+        while(iterator.hasNext())
+        {
+            int[] edge = iterator.next();
+
+            this.addEdge(edge[0], edge[1]);
+        }
+
+        return this;
+    }
+
+    /**
+     * Holds the deduplicated nodes and edges, nodes being numbered by
+     * increasing index.
+     */
+    protected static class Compacted
+    {
+        /**
+         * Nodes' indexes, sorted.
+         */
+        protected int[] nodeIndexes;
+
+        /**
+         * Nodes' names.
+         */
+        protected String[] nodeNames;
+
+        /**
+         * Edges, packed as <code>(id1 &lt;&lt; 32) | id2</code> with
+         * <code>id1 &lt; id2</code>, sorted.
+         */
+        protected long[] edges;
+
+        /**
+         * Nodes' degrees.
+         */
+        protected int[] degrees;
+
+        /**
+         * Node identifiers by index minus {@link #minIndex}, or
+         * <code>null</code> if the indexes are too sparse.
+         */
+        protected int[] nodeIds;
+
+        /**
+         * Smallest node index.
+         */
+        protected int minIndex;
+
+        /**
+         * Gets a node's identifier.
+         *
+         * @param nodeIndex Node's index.
+         * @return Node's identifier.
+         */
+        protected int getNodeId(int nodeIndex)
+        {
+            if(this.nodeIds != null)
+            {
+                return this.nodeIds[nodeIndex - this.minIndex];
+            }
+            else
+            {
+                return Arrays.binarySearch(this.nodeIndexes, nodeIndex);
+            }
+        }
+    }
+
+    /**
+     * Deduplicates the added nodes and edges.
+     *
+     * @return Deduplicated nodes and edges.
+     */
+    protected Compacted compact()
+    {
+        Compacted compacted = new Compacted();
+
+        if(!this.compactDenseNodes(compacted))
+        {
+            this.compactSparseNodes(compacted);
+        }
+
+        // Sort the edges by identifiers, lowest first, and drop duplicates
+        // and loops
+        long[] edges = new long[this.edgesNumber];
+        int edgesNumber = 0;
+
+        for(int i = 0; i < this.edgesNumber; i++)
+        {
+            int nodeId1 = compacted.getNodeId(this.edgeSources[i]);
+            int nodeId2 = compacted.getNodeId(this.edgeTargets[i]);
+
+            if(nodeId1 != nodeId2)
+            {
+                edges[edgesNumber++] = GraphBuilder.pack(Math.min(nodeId1, nodeId2), Math.max(nodeId1, nodeId2));
+            }
+        }
+
+        Arrays.sort(edges, 0, edgesNumber);
+
+        int uniqueEdgesNumber = 0;
+
+        for(int i = 0; i < edgesNumber; i++)
+        {
+            if(i == 0 || edges[i] != edges[i - 1])
+            {
+                edges[uniqueEdgesNumber++] = edges[i];
+            }
+        }
+
+        compacted.edges = Arrays.copyOf(edges, uniqueEdgesNumber);
+        compacted.degrees = new int[compacted.nodeIndexes.length];
+
+        for(long edge : compacted.edges)
+        {
+            compacted.degrees[GraphBuilder.high(edge)]++;
+            compacted.degrees[GraphBuilder.low(edge)]++;
+        }
+
+        return compacted;
+    }
+
+    /**
+     * Deduplicates the nodes through a lookup table, provided their indexes
+     * are dense enough for the table to be no bigger than the added nodes.
+     *
+     * @param compacted Where to store the nodes.
+     * @return <code>true</code> if the nodes were deduplicated,
+     * <code>false</code> if they are too sparse.
+     */
+    protected boolean compactDenseNodes(Compacted compacted)
+    {
+        if(this.nodesNumber == 0 && this.edgesNumber == 0)
+        {
+            compacted.nodeIndexes = new int[0];
+            compacted.nodeNames = new String[0];
+
+            return true;
+        }
+
+        int minIndex = Integer.MAX_VALUE, maxIndex = Integer.MIN_VALUE;
+
+        for(int i = 0; i < this.nodesNumber; i++)
+        {
+            minIndex = Math.min(minIndex, this.nodeIndexes[i]);
+            maxIndex = Math.max(maxIndex, this.nodeIndexes[i]);
+        }
+
+        for(int i = 0; i < this.edgesNumber; i++)
+        {
+            minIndex = Math.min(minIndex, Math.min(this.edgeSources[i], this.edgeTargets[i]));
+            maxIndex = Math.max(maxIndex, Math.max(this.edgeSources[i], this.edgeTargets[i]));
+        }
+
+        long range = (long) maxIndex - minIndex + 1;
+
+        if(range > 2L * (this.nodesNumber + 2L * this.edgesNumber) + 1024 || range > Integer.MAX_VALUE - 8)
+        {
+            return false;
+        }
+
+        // Remember the position of each explicit node's first name, or of its
+        // first occurrence if it has none, or -1 for nodes only referenced by
+        // edges, shifted by one so that 0 means absent
+        int[] nodeIds = new int[(int) range];
+        int nodesNumber = 0;
+
+        for(int i = 0; i < this.nodesNumber; i++)
+        {
+            int position = nodeIds[this.nodeIndexes[i] - minIndex];
+
+            if(position == 0)
+            {
+                nodeIds[this.nodeIndexes[i] - minIndex] = i + 1;
+                nodesNumber++;
+            }
+            else if(this.nodeNames[position - 1] == null && this.nodeNames[i] != null)
+            {
+                nodeIds[this.nodeIndexes[i] - minIndex] = i + 1;
+            }
+        }
+
+        for(int i = 0; i < this.edgesNumber; i++)
+        {
+            if(nodeIds[this.edgeSources[i] - minIndex] == 0)
+            {
+                nodeIds[this.edgeSources[i] - minIndex] = -1;
+                nodesNumber++;
+            }
+
+            if(nodeIds[this.edgeTargets[i] - minIndex] == 0)
+            {
+                nodeIds[this.edgeTargets[i] - minIndex] = -1;
+                nodesNumber++;
+            }
+        }
+
+        compacted.nodeIndexes = new int[nodesNumber];
+        compacted.nodeNames = new String[nodesNumber];
+        nodesNumber = 0;
+
+        for(int i = 0; i < nodeIds.length; i++)
+        {
+            if(nodeIds[i] != 0)
+            {
+                compacted.nodeIndexes[nodesNumber] = i + minIndex;
+                compacted.nodeNames[nodesNumber] = nodeIds[i] > 0 ? this.nodeNames[nodeIds[i] - 1] : null;
+                nodeIds[i] = nodesNumber++;
+            }
+        }
+
+        compacted.nodeIds = nodeIds;
+        compacted.minIndex = minIndex;
+
+        return true;
+    }
+
+    /**
+     * Deduplicates the nodes by sorting them.
+     *
+     * @param compacted Where to store the nodes.
+     */
+    protected void compactSparseNodes(Compacted compacted)
+    {
+        // Sort the explicit nodes, remembering where they were added to find
+        // their first name
+        long[] nodeKeys = new long[this.nodesNumber];
+
+        for(int i = 0; i < this.nodesNumber; i++)
+        {
+            nodeKeys[i] = GraphBuilder.pack(this.nodeIndexes[i], i);
+        }
+
+        Arrays.sort(nodeKeys);
+
+        // Sort the nodes referenced by edges
+        int[] edgeNodes = new int[2 * this.edgesNumber];
+
+        System.arraycopy(this.edgeSources, 0, edgeNodes, 0, this.edgesNumber);
+        System.arraycopy(this.edgeTargets, 0, edgeNodes, this.edgesNumber, this.edgesNumber);
+        Arrays.sort(edgeNodes);
+
+        // Merge both lists while dropping duplicates
+        int[] nodeIndexes = new int[nodeKeys.length + edgeNodes.length];
+        String[] nodeNames = new String[nodeIndexes.length];
+        int nodesNumber = 0;
+        int i = 0, j = 0;
+
+        while(i < nodeKeys.length || j < edgeNodes.length)
+        {
+            int nodeIndex;
+            String nodeName = null;
+
+            if(j == edgeNodes.length || (i < nodeKeys.length && GraphBuilder.high(nodeKeys[i]) <= edgeNodes[j]))
+            {
+                nodeIndex = GraphBuilder.high(nodeKeys[i]);
+            }
+            else
+            {
+                nodeIndex = edgeNodes[j];
+            }
+
+            // Nodes are sorted by position too, so the first name found is the
+            // first one given
+            while(i < nodeKeys.length && GraphBuilder.high(nodeKeys[i]) == nodeIndex)
+            {
+                if(nodeName == null)
+                {
+                    nodeName = this.nodeNames[GraphBuilder.low(nodeKeys[i])];
+                }
+
+                i++;
+            }
+
+            while(j < edgeNodes.length && edgeNodes[j] == nodeIndex)
+            {
+                j++;
+            }
+
+            nodeIndexes[nodesNumber] = nodeIndex;
+            nodeNames[nodesNumber] = nodeName;
+            nodesNumber++;
+        }
+
+        compacted.nodeIndexes = Arrays.copyOf(nodeIndexes, nodesNumber);
+        compacted.nodeNames = Arrays.copyOf(nodeNames, nodesNumber);
+    }
+
+    /**
+     * Builds the graph, edges' weights being dropped.
+     *
+     * @return Graph.
+     */
+    public Graph build()
+    {
+        Compacted compacted = this.compact();
+        Graph graph = new Graph(this.graphName, compacted.nodeIndexes.length);
+
+        for(int nodeId = 0; nodeId < compacted.nodeIndexes.length; nodeId++)
+        {
+            graph.nodes.add(compacted.nodeIndexes[nodeId]);
+            graph.nodeNames.put(compacted.nodeIndexes[nodeId], compacted.nodeNames[nodeId]);
+            graph.edges.put(compacted.nodeIndexes[nodeId], new HashSet<Integer>(compacted.degrees[nodeId] * 4 / 3 + 1));
+        }
+
+        for(long edge : compacted.edges)
+        {
+            int nodeIndex1 = compacted.nodeIndexes[GraphBuilder.high(edge)];
+            int nodeIndex2 = compacted.nodeIndexes[GraphBuilder.low(edge)];
+
+            graph.edges.get(nodeIndex1).add(nodeIndex2);
+            graph.edges.get(nodeIndex2).add(nodeIndex1);
+        }
+
+        graph.edgesNumber = compacted.edges.length;
+
+        return graph;
+    }
+
+    /**
+     * Builds a snapshot of the graph, nodes being numbered by increasing
+     * index.
+     *
+     * @return Graph's snapshot.
+     */
+    public GraphSnapshot buildSnapshot()
+    {
+        Compacted compacted = this.compact();
+        int nodesNumber = compacted.nodeIndexes.length;
+        int[] offsets = new int[nodesNumber + 1];
+
+        for(int nodeId = 0; nodeId < nodesNumber; nodeId++)
+        {
+            offsets[nodeId + 1] = offsets[nodeId] + compacted.degrees[nodeId];
+        }
+
+        int[] targets = new int[offsets[nodesNumber]];
+        int[] cursors = Arrays.copyOf(offsets, nodesNumber);
+
+        // Edges are sorted by lowest identifier, so each node first receives
+        // its lower neighbours in increasing order, then its higher ones
+        for(long edge : compacted.edges)
+        {
+            targets[cursors[GraphBuilder.low(edge)]++] = GraphBuilder.high(edge);
+        }
+
+        for(long edge : compacted.edges)
+        {
+            targets[cursors[GraphBuilder.high(edge)]++] = GraphBuilder.low(edge);
+        }
+
+        double[] weights = null;
+
+        if(this.edgeWeights != null)
+        {
+            // Find both sides of every weighted edge inside the sorted
+            // neighbour lists and keep the lowest weight, edges never given
+            // one weighing 1
+            weights = new double[targets.length];
+            Arrays.fill(weights, Double.NaN);
+
+            for(int i = 0; i < this.edgesNumber; i++)
+            {
+                int nodeId1 = compacted.getNodeId(this.edgeSources[i]);
+                int nodeId2 = compacted.getNodeId(this.edgeTargets[i]);
+
+                if(nodeId1 != nodeId2 && !Double.isNaN(this.edgeWeights[i]))
+                {
+                    int position1 = Arrays.binarySearch(targets, offsets[nodeId1], offsets[nodeId1 + 1], nodeId2);
+                    int position2 = Arrays.binarySearch(targets, offsets[nodeId2], offsets[nodeId2 + 1], nodeId1);
+
+                    weights[position1] = Double.isNaN(weights[position1]) ? this.edgeWeights[i] : Math.min(weights[position1], this.edgeWeights[i]);
+                    weights[position2] = Double.isNaN(weights[position2]) ? this.edgeWeights[i] : Math.min(weights[position2], this.edgeWeights[i]);
+                }
+            }
+
+            for(int i = 0; i < weights.length; i++)
+            {
+                if(Double.isNaN(weights[i]))
+                {
+                    weights[i] = 1;
+                }
+            }
+        }
+
+        return new GraphSnapshot(this.graphName, compacted.nodeIndexes, compacted.nodeNames, offsets, targets, weights);
+    }
+
+    /**
+     * Builds a snapshot of the graph, nodes being numbered in a given order.
+     *
+     * @param ordering Nodes' order.
+     * @return Graph's snapshot.
+     */
+    public GraphSnapshot buildSnapshot(NodeOrdering ordering)
+    {
+        return this.buildSnapshot().reorder(ordering);
+    }
+
+    /**
+     * Reads a words file, one word per line, and links the words at a
+     * Levenshtein distance of one from each other. Words are numbered from
+     * <code>1</code>, in the file's order.
+     *
+     * @param fileName File's name.
+     * @param weightFunction Function weighing each edge, or <code>null</code>
+     * for unweighted edges.
+     * @return Builder holding the words and their edges.
+     * @throws java.io.IOException Thrown if the file can't be read.
+     */
+    public static GraphBuilder loadWords(String fileName, EdgeWeightFunction weightFunction) throws IOException
+    {
+        List<String> words = new ArrayList<String>();
+
+        try(BufferedReader buffer = new BufferedReader(new FileReader(fileName)))
+        {
+            String line;
+
+            while((line = buffer.readLine()) != null)
+            {
+                words.add(line);
+            }
+        }
+
+        GraphBuilder builder = new GraphBuilder(null, words.size(), words.size() * 4);
+
+        for(int i = 0; i < words.size(); i++)
+        {
+            builder.addNode(i + 1, words.get(i));
+
+            for(int j = 0; j < i; j++)
+            {
+                if(Graph.levenshtein(words.get(i), words.get(j)) == 1)
+                {
+                    if(weightFunction != null)
+                    {
+                        builder.addEdge(i + 1, j + 1, weightFunction.getWeight(words.get(i), words.get(j)));
+                    }
+                    else
+                    {
+                        builder.addEdge(i + 1, j + 1);
+                    }
+                }
+            }
+        }
+
+        return builder;
+    }
+
+    /**
+     * Packs two integers into a long, ordered like the pair of integers.
+     *
+     * @param high First integer.
+     * @param low Second integer.
+     * @return Packed integers.
+     */
+    protected static long pack(int high, int low)
+    {
+        return ((long) high << 32) | ((low ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Unpacks the first integer.
+     *
+     * @param packed Packed integers.
+     * @return First integer.
+     */
+    protected static int high(long packed)
+    {
+        return (int) (packed >> 32);
+    }
+
+    /**
+     * Unpacks the second integer.
+     *
+     * @param packed Packed integers.
+     * @return Second integer.
+     */
+    protected static int low(long packed)
+    {
+        return (int) packed ^ Integer.MIN_VALUE;
+    }
+}
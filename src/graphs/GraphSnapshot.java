@@ -0,0 +1,822 @@
+package graphs;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable and compact copy of a graph.
+ *
+ * Nodes are renumbered from <code>0</code> to <code>n - 1</code> and their
+ * neighbours are stored contiguously, in increasing order, inside a single
+ * array. Since a snapshot never changes, it can be shared by any number of
+ * threads without synchronization.
+ *
+ * @author Thomas Arnaud, Bruno Buiret
+ */
+public class GraphSnapshot
+{
+    /**
+     * Graph's name.
+     */
+    protected final String graphName;
+
+    /**
+     * Original index of each node.
+     */
+    protected final int[] nodeIndexes;
+
+    /**
+     * Name of each node.
+     */
+    protected final String[] nodeNames;
+
+    /**
+     * Position of each node's first neighbour inside {@link #targets}, the
+     * last cell holding the total number of neighbours.
+     */
+    protected final int[] offsets;
+
+    /**
+     * Neighbours of every node, one after the other.
+     */
+    protected final int[] targets;
+
+    /**
+     * Weight of each edge of {@link #targets}, or <code>null</code> if every
+     * edge weighs <code>1</code>.
+     */
+    protected final double[] weights;
+
+    /**
+     * Node identifiers by name.
+     */
+    protected final Map<String, Integer> nodeIds;
+
+    /**
+     * Connected component of each node.
+     */
+    protected final int[] components;
+
+    /**
+     * Size of each connected component.
+     */
+    protected final int[] componentSizes;
+
+    /**
+     * Creates a new snapshot from its adjacency arrays.
+     *
+     * @param graphName Graph's name.
+     * @param nodeIndexes Original index of each node.
+     * @param nodeNames Name of each node.
+     * @param offsets Position of each node's first neighbour.
+     * @param targets Neighbours of every node, sorted for each node.
+     */
+    protected GraphSnapshot(String graphName, int[] nodeIndexes, String[] nodeNames, int[] offsets, int[] targets)
+    {
+        this(graphName, nodeIndexes, nodeNames, offsets, targets, null);
+    }
+
+    /**
+     * Creates a new snapshot from its weighted adjacency arrays.
+     *
+     * @param graphName Graph's name.
+     * @param nodeIndexes Original index of each node.
+     * @param nodeNames Name of each node.
+     * @param offsets Position of each node's first neighbour.
+     * @param targets Neighbours of every node, sorted for each node.
+     * @param weights Weight of each edge of the targets, or <code>null</code>.
+     */
+    protected GraphSnapshot(String graphName, int[] nodeIndexes, String[] nodeNames, int[] offsets, int[] targets, double[] weights)
+    {
+        this.graphName = graphName;
+        this.nodeIndexes = nodeIndexes;
+        this.nodeNames = nodeNames;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.nodeIds = new HashMap<String, Integer>(nodeNames.length * 4 / 3 + 1);
+
+        for(int nodeId = 0; nodeId < nodeNames.length; nodeId++)
+        {
+            if(nodeNames[nodeId] != null)
+            {
+                this.nodeIds.put(nodeNames[nodeId], nodeId);
+            }
+        }
+
+        // Label the connected components once and for all
+        this.components = new int[nodeIndexes.length];
+        this.componentSizes = this.labelComponents(this.components);
+    }
+
+    /**
+     * Labels the connected components with breadth first searches.
+     *
+     * @param components Where to store the component of each node.
+     * @return Size of each connected component.
+     */
+    public int[] labelComponents(int[] components)
+    {
+        return this.labelComponents(components, null, null);
+    }
+
+    /**
+     * Labels the connected components of a subgraph with breadth first
+     * searches.
+     *
+     * @param components Where to store the component of each node,
+     * <code>-1</code> for nodes outside of the subgraph.
+     * @param mask Subgraph's nodes, one bit per node, or <code>null</code>
+     * for every node.
+     * @param predicate Subgraph's edges, or <code>null</code> for every edge.
+     * @return Size of each connected component.
+     */
+    protected int[] labelComponents(int[] components, long[] mask, EdgePredicate predicate)
+    {
+        int[] queue = new int[this.nodeIndexes.length];
+        int[] componentSizes = new int[this.nodeIndexes.length];
+        int componentsNumber = 0;
+
+        Arrays.fill(components, -1);
+
+        for(int startNodeId = 0; startNodeId < this.nodeIndexes.length; startNodeId++)
+        {
+            if(components[startNodeId] == -1 && GraphSnapshot.contains(mask, startNodeId))
+            {
+                int head = 0, tail = 0;
+
+                components[startNodeId] = componentsNumber;
+                queue[tail++] = startNodeId;
+
+                while(head < tail)
+                {
+                    int nodeId1 = queue[head++];
+
+                    for(int i = this.offsets[nodeId1]; i < this.offsets[nodeId1 + 1]; i++)
+                    {
+                        int nodeId2 = this.targets[i];
+
+                        if(components[nodeId2] == -1 && GraphSnapshot.isTraversable(mask, predicate, nodeId1, nodeId2))
+                        {
+                            components[nodeId2] = componentsNumber;
+                            queue[tail++] = nodeId2;
+                        }
+                    }
+                }
+
+                componentSizes[componentsNumber++] = tail;
+            }
+        }
+
+        return Arrays.copyOf(componentSizes, componentsNumber);
+    }
+
+    /**
+     * Tests if a node belongs to a mask.
+     *
+     * @param mask Nodes, one bit per node, or <code>null</code> for every
+     * node.
+     * @param nodeId Node's identifier.
+     * @return <code>true</code> if the node belongs to the mask,
+     * <code>false</code> otherwise.
+     */
+    protected static boolean contains(long[] mask, int nodeId)
+    {
+        return mask == null || (mask[nodeId >>> 6] & (1L << nodeId)) != 0;
+    }
+
+    /**
+     * Tests if an edge can be followed inside a subgraph.
+     *
+     * @param mask Subgraph's nodes, or <code>null</code> for every node.
+     * @param predicate Subgraph's edges, or <code>null</code> for every edge.
+     * @param nodeId1 Node the edge is followed from, inside the subgraph.
+     * @param nodeId2 Node the edge leads to.
+     * @return <code>true</code> if the edge can be followed,
+     * <code>false</code> otherwise.
+     */
+    protected static boolean isTraversable(long[] mask, EdgePredicate predicate, int nodeId1, int nodeId2)
+    {
+        return GraphSnapshot.contains(mask, nodeId2) && (predicate == null || predicate.accept(nodeId1, nodeId2));
+    }
+
+    /**
+     * Creates a snapshot of a graph, nodes being numbered in a given order.
+     *
+     * @param graph Graph to copy.
+     * @param ordering Nodes' order.
+     * @return Graph's snapshot.
+     */
+    public static GraphSnapshot of(Graph graph, NodeOrdering ordering)
+    {
+        return GraphSnapshot.of(graph).reorder(ordering);
+    }
+
+    /**
+     * Creates a snapshot of a graph, nodes being numbered by increasing index.
+     *
+     * @param graph Graph to copy.
+     * @return Graph's snapshot.
+     */
+    public static GraphSnapshot of(Graph graph)
+    {
+        int nodesNumber = graph.nodes.size();
+        int[] nodeIndexes = new int[nodesNumber];
+        int nodeId = 0;
+
+        for(int nodeIndex : graph.nodes)
+        {
+            nodeIndexes[nodeId++] = nodeIndex;
+        }
+
+        Arrays.sort(nodeIndexes);
+
+        Map<Integer, Integer> nodeIds = new HashMap<Integer, Integer>(nodesNumber * 4 / 3 + 1);
+        String[] nodeNames = new String[nodesNumber];
+        int[] offsets = new int[nodesNumber + 1];
+
+        for(nodeId = 0; nodeId < nodesNumber; nodeId++)
+        {
+            nodeIds.put(nodeIndexes[nodeId], nodeId);
+            nodeNames[nodeId] = graph.nodeNames.get(nodeIndexes[nodeId]);
+            offsets[nodeId + 1] = offsets[nodeId] + graph.edges.get(nodeIndexes[nodeId]).size();
+        }
+
+        int[] targets = new int[offsets[nodesNumber]];
+
+        for(nodeId = 0; nodeId < nodesNumber; nodeId++)
+        {
+            Set<Integer> neighbours = graph.edges.get(nodeIndexes[nodeId]);
+            int i = offsets[nodeId];
+
+            for(int neighbourIndex : neighbours)
+            {
+                targets[i++] = nodeIds.get(neighbourIndex);
+            }
+
+            Arrays.sort(targets, offsets[nodeId], offsets[nodeId + 1]);
+        }
+
+        return new GraphSnapshot(graph.graphName, nodeIndexes, nodeNames, offsets, targets);
+    }
+
+    /**
+     * Loads a words file and weighs its edges.
+     *
+     * @param fileName File's name.
+     * @param weightFunction Function weighing each edge.
+     * @return Graph's snapshot.
+     * @throws java.io.IOException Thrown if the file can't be read.
+     * @see graphs.GraphBuilder#loadWords(String, EdgeWeightFunction)
+     */
+    public static GraphSnapshot load(String fileName, EdgeWeightFunction weightFunction) throws IOException
+    {
+        return GraphBuilder.loadWords(fileName, weightFunction).buildSnapshot();
+    }
+
+    /**
+     * Creates a copy of the snapshot where nodes are numbered in another
+     * order, their original indexes being kept.
+     *
+     * @param ordering Nodes' order.
+     * @return Renumbered snapshot.
+     */
+    public GraphSnapshot reorder(NodeOrdering ordering)
+    {
+        if(ordering == NodeOrdering.NATURAL && this.isNaturallyOrdered())
+        {
+            return this;
+        }
+
+        int[] order = ordering.getOrder(this);
+        int[] newNodeIds = new int[order.length];
+        int[] nodeIndexes = new int[order.length];
+        String[] nodeNames = new String[order.length];
+        int[] offsets = new int[order.length + 1];
+
+        for(int newNodeId = 0; newNodeId < order.length; newNodeId++)
+        {
+            int nodeId = order[newNodeId];
+
+            newNodeIds[nodeId] = newNodeId;
+            nodeIndexes[newNodeId] = this.nodeIndexes[nodeId];
+            nodeNames[newNodeId] = this.nodeNames[nodeId];
+            offsets[newNodeId + 1] = offsets[newNodeId] + this.getNodeDegree(nodeId);
+        }
+
+        int[] targets = new int[this.targets.length];
+        double[] weights = this.weights != null ? new double[this.weights.length] : null;
+        long[] keys = new long[0];
+
+        for(int newNodeId = 0; newNodeId < order.length; newNodeId++)
+        {
+            int nodeId = order[newNodeId];
+            int first = this.offsets[nodeId], last = this.offsets[nodeId + 1];
+
+            if(keys.length < last - first)
+            {
+                keys = new long[last - first];
+            }
+
+            // Sort the renumbered neighbours along with their former position
+            for(int i = first; i < last; i++)
+            {
+                keys[i - first] = ((long) newNodeIds[this.targets[i]] << 32) | i;
+            }
+
+            Arrays.sort(keys, 0, last - first);
+
+            for(int i = 0, j = offsets[newNodeId]; i < last - first; i++, j++)
+            {
+                targets[j] = (int) (keys[i] >>> 32);
+
+                if(weights != null)
+                {
+                    weights[j] = this.weights[(int) keys[i]];
+                }
+            }
+        }
+
+        return new GraphSnapshot(this.graphName, nodeIndexes, nodeNames, offsets, targets, weights);
+    }
+
+    /**
+     * Tests if the nodes are numbered by increasing original index.
+     *
+     * @return <code>true</code> if they are, <code>false</code> otherwise.
+     */
+    protected boolean isNaturallyOrdered()
+    {
+        for(int nodeId = 1; nodeId < this.nodeIndexes.length; nodeId++)
+        {
+            if(this.nodeIndexes[nodeId - 1] > this.nodeIndexes[nodeId])
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the graph's name.
+     *
+     * @return Graph's name.
+     */
+    public String getGraphName()
+    {
+        return this.graphName;
+    }
+
+    /**
+     * Gets the number of nodes.
+     *
+     * @return Nodes number.
+     */
+    public int getNodesNumber()
+    {
+        return this.nodeIndexes.length;
+    }
+
+    /**
+     * Gets the number of edges.
+     *
+     * @return Edges number.
+     */
+    public long getEdgesNumber()
+    {
+        return this.targets.length / 2;
+    }
+
+    /**
+     * Gets the identifier of the node called by a name.
+     *
+     * @param nodeName Node's name.
+     * @return Node's identifier.
+     * @throws java.lang.Exception Thrown if no node is called by this name.
+     */
+    public int getNodeId(String nodeName) throws Exception
+    {
+        Integer nodeId = this.nodeIds.get(nodeName);
+
+        if(nodeId != null)
+        {
+            return nodeId;
+        }
+        else
+        {
+            throw new Exception("No node called " + nodeName);
+        }
+    }
+
+    /**
+     * Gets a node's index inside the original graph.
+     *
+     * @param nodeId Node's identifier.
+     * @return Node's index.
+     */
+    public int getNodeIndex(int nodeId)
+    {
+        return this.nodeIndexes[nodeId];
+    }
+
+    /**
+     * Gets a node's name.
+     *
+     * @param nodeId Node's identifier.
+     * @return Node's name.
+     */
+    public String getNodeName(int nodeId)
+    {
+        return this.nodeNames[nodeId];
+    }
+
+    /**
+     * Gets a node's degree.
+     *
+     * @param nodeId Node's identifier.
+     * @return Node's degree.
+     */
+    public int getNodeDegree(int nodeId)
+    {
+        return this.offsets[nodeId + 1] - this.offsets[nodeId];
+    }
+
+    /**
+     * Gets a node's neighbours.
+     *
+     * @param nodeId Node's identifier.
+     * @return Neighbours' identifiers, in increasing order.
+     */
+    public int[] getNeighbours(int nodeId)
+    {
+        return Arrays.copyOfRange(this.targets, this.offsets[nodeId], this.offsets[nodeId + 1]);
+    }
+
+    /**
+     * Tests if the edges are weighted.
+     *
+     * @return <code>true</code> if they are, <code>false</code> if every edge
+     * weighs <code>1</code>.
+     */
+    public boolean isWeighted()
+    {
+        return this.weights != null;
+    }
+
+    /**
+     * Gets the weights of a node's edges.
+     *
+     * @param nodeId Node's identifier.
+     * @return Edges' weights, in the order of {@link #getNeighbours(int)}.
+     */
+    public double[] getNeighbourWeights(int nodeId)
+    {
+        if(this.weights != null)
+        {
+            return Arrays.copyOfRange(this.weights, this.offsets[nodeId], this.offsets[nodeId + 1]);
+        }
+
+        double[] weights = new double[this.getNodeDegree(nodeId)];
+        Arrays.fill(weights, 1);
+
+        return weights;
+    }
+
+    /**
+     * Gets the number of connected components.
+     *
+     * @return Connected components number.
+     */
+    public int getComponentsNumber()
+    {
+        return this.componentSizes.length;
+    }
+
+    /**
+     * Gets the connected component a node belongs to.
+     *
+     * @param nodeId Node's identifier.
+     * @return Component's number.
+     */
+    public int getComponent(int nodeId)
+    {
+        return this.components[nodeId];
+    }
+
+    /**
+     * Gets the number of nodes of a connected component.
+     *
+     * @param component Component's number.
+     * @return Component's size.
+     */
+    public int getComponentSize(int component)
+    {
+        return this.componentSizes[component];
+    }
+
+    /**
+     * Computes the distances from a node with a breadth first search.
+     *
+     * @param fromNodeId Start node's identifier.
+     * @return Distance to each node, <code>-1</code> for unreachable ones.
+     */
+    public int[] getDistances(int fromNodeId)
+    {
+        return this.getDistances(fromNodeId, null, null);
+    }
+
+    /**
+     * Computes the distances from a node inside a subgraph with a breadth
+     * first search.
+     *
+     * @param fromNodeId Start node's identifier, inside the subgraph.
+     * @param mask Subgraph's nodes, or <code>null</code> for every node.
+     * @param predicate Subgraph's edges, or <code>null</code> for every edge.
+     * @return Distance to each node, <code>-1</code> for unreachable ones.
+     */
+    protected int[] getDistances(int fromNodeId, long[] mask, EdgePredicate predicate)
+    {
+        int[] distances = new int[this.nodeIndexes.length];
+        int[] queue = new int[this.componentSizes[this.components[fromNodeId]]];
+        int head = 0, tail = 0;
+
+        Arrays.fill(distances, -1);
+        distances[fromNodeId] = 0;
+        queue[tail++] = fromNodeId;
+
+        while(head < tail)
+        {
+            int nodeId1 = queue[head++];
+
+            for(int i = this.offsets[nodeId1]; i < this.offsets[nodeId1 + 1]; i++)
+            {
+                int nodeId2 = this.targets[i];
+
+                if(distances[nodeId2] == -1 && GraphSnapshot.isTraversable(mask, predicate, nodeId1, nodeId2))
+                {
+                    distances[nodeId2] = distances[nodeId1] + 1;
+                    queue[tail++] = nodeId2;
+                }
+            }
+        }
+
+        return distances;
+    }
+
+    /**
+     * Finds a shortest path between two nodes with a breadth first search.
+     *
+     * @param fromNodeId Start node's identifier.
+     * @param toNodeId End node's identifier.
+     * @return Nodes' identifiers along the path, or <code>null</code> if both
+     * nodes aren't connected.
+     */
+    public int[] getShortestPath(int fromNodeId, int toNodeId)
+    {
+        if(this.components[fromNodeId] != this.components[toNodeId])
+        {
+            return null;
+        }
+
+        return this.getShortestPath(fromNodeId, toNodeId, null, null);
+    }
+
+    /**
+     * Finds a shortest path between two nodes of a subgraph with a breadth
+     * first search.
+     *
+     * @param fromNodeId Start node's identifier, inside the subgraph.
+     * @param toNodeId End node's identifier.
+     * @param mask Subgraph's nodes, or <code>null</code> for every node.
+     * @param predicate Subgraph's edges, or <code>null</code> for every edge.
+     * @return Nodes' identifiers along the path, or <code>null</code> if both
+     * nodes aren't connected.
+     */
+    protected int[] getShortestPath(int fromNodeId, int toNodeId, long[] mask, EdgePredicate predicate)
+    {
+        int[] parents = new int[this.nodeIndexes.length];
+        int[] queue = new int[this.componentSizes[this.components[fromNodeId]]];
+        int head = 0, tail = 0;
+
+        Arrays.fill(parents, -1);
+        parents[fromNodeId] = fromNodeId;
+        queue[tail++] = fromNodeId;
+
+        while(head < tail && parents[toNodeId] == -1)
+        {
+            int nodeId1 = queue[head++];
+
+            for(int i = this.offsets[nodeId1]; i < this.offsets[nodeId1 + 1]; i++)
+            {
+                int nodeId2 = this.targets[i];
+
+                if(parents[nodeId2] == -1 && GraphSnapshot.isTraversable(mask, predicate, nodeId1, nodeId2))
+                {
+                    parents[nodeId2] = nodeId1;
+                    queue[tail++] = nodeId2;
+                }
+            }
+        }
+
+        return parents[toNodeId] != -1 ? GraphSnapshot.getPath(fromNodeId, toNodeId, parents) : null;
+    }
+
+    /**
+     * Walks back a path through parents.
+     *
+     * @param fromNodeId Start node's identifier.
+     * @param toNodeId End node's identifier, reached from the start node.
+     * @param parents Each node's parent.
+     * @return Nodes' identifiers along the path.
+     */
+    protected static int[] getPath(int fromNodeId, int toNodeId, int[] parents)
+    {
+        int length = 1;
+
+        for(int nodeId = toNodeId; nodeId != fromNodeId; nodeId = parents[nodeId])
+        {
+            length++;
+        }
+
+        int[] path = new int[length];
+
+        for(int nodeId = toNodeId, i = length - 1; i >= 0; nodeId = parents[nodeId], i--)
+        {
+            path[i] = nodeId;
+        }
+
+        return path;
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from a node inside a subgraph, stopping once
+     * a given node is settled.
+     *
+     * @param fromNodeId Start node's identifier, inside the subgraph.
+     * @param toNodeId Node to stop at, or <code>-1</code> to reach every node.
+     * @param distances Where to store the distance to each node,
+     * <code>+Infinity</code> for unreached ones.
+     * @param parents Where to store each node's parent, <code>-1</code> for
+     * unreached ones and the start node.
+     * @param mask Subgraph's nodes, or <code>null</code> for every node.
+     * @param predicate Subgraph's edges, or <code>null</code> for every edge.
+     */
+    protected void dijkstra(int fromNodeId, int toNodeId, double[] distances, int[] parents, long[] mask, EdgePredicate predicate)
+    {
+        IndexedHeap heap = new IndexedHeap(this.nodeIndexes.length);
+
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Arrays.fill(parents, -1);
+        distances[fromNodeId] = 0;
+        heap.insertOrDecrease(fromNodeId, 0);
+
+        while(!heap.isEmpty())
+        {
+            int nodeId1 = heap.poll();
+
+            if(nodeId1 == toNodeId)
+            {
+                break;
+            }
+
+            for(int i = this.offsets[nodeId1]; i < this.offsets[nodeId1 + 1]; i++)
+            {
+                int nodeId2 = this.targets[i];
+                double distance = distances[nodeId1] + (this.weights != null ? this.weights[i] : 1);
+
+                if(distance < distances[nodeId2] && GraphSnapshot.isTraversable(mask, predicate, nodeId1, nodeId2))
+                {
+                    distances[nodeId2] = distance;
+                    parents[nodeId2] = nodeId1;
+                    heap.insertOrDecrease(nodeId2, distance);
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the weighted distances from a node with Dijkstra's algorithm.
+     *
+     * @param fromNodeId Start node's identifier.
+     * @return Distance to each node, <code>+Infinity</code> for unreachable
+     * ones.
+     */
+    public double[] getWeightedDistances(int fromNodeId)
+    {
+        return this.getWeightedDistances(fromNodeId, null, null);
+    }
+
+    /**
+     * Computes the weighted distances from a node inside a subgraph with
+     * Dijkstra's algorithm.
+     *
+     * @param fromNodeId Start node's identifier, inside the subgraph.
+     * @param mask Subgraph's nodes, or <code>null</code> for every node.
+     * @param predicate Subgraph's edges, or <code>null</code> for every edge.
+     * @return Distance to each node, <code>+Infinity</code> for unreachable
+     * ones.
+     */
+    protected double[] getWeightedDistances(int fromNodeId, long[] mask, EdgePredicate predicate)
+    {
+        double[] distances = new double[this.nodeIndexes.length];
+
+        this.dijkstra(fromNodeId, -1, distances, new int[this.nodeIndexes.length], mask, predicate);
+
+        return distances;
+    }
+
+    /**
+     * Finds a lightest path between two nodes with Dijkstra's algorithm.
+     *
+     * @param fromNodeId Start node's identifier.
+     * @param toNodeId End node's identifier.
+     * @return Nodes' identifiers along the path, or <code>null</code> if both
+     * nodes aren't connected.
+     */
+    public int[] getWeightedShortestPath(int fromNodeId, int toNodeId)
+    {
+        if(this.components[fromNodeId] != this.components[toNodeId])
+        {
+            return null;
+        }
+
+        return this.getWeightedShortestPath(fromNodeId, toNodeId, null, null);
+    }
+
+    /**
+     * Finds a lightest path between two nodes of a subgraph with Dijkstra's
+     * algorithm.
+     *
+     * @param fromNodeId Start node's identifier, inside the subgraph.
+     * @param toNodeId End node's identifier.
+     * @param mask Subgraph's nodes, or <code>null</code> for every node.
+     * @param predicate Subgraph's edges, or <code>null</code> for every edge.
+     * @return Nodes' identifiers along the path, or <code>null</code> if both
+     * nodes aren't connected.
+     */
+    protected int[] getWeightedShortestPath(int fromNodeId, int toNodeId, long[] mask, EdgePredicate predicate)
+    {
+        double[] distances = new double[this.nodeIndexes.length];
+        int[] parents = new int[this.nodeIndexes.length];
+
+        this.dijkstra(fromNodeId, toNodeId, distances, parents, mask, predicate);
+
+        return distances[toNodeId] != Double.POSITIVE_INFINITY ? GraphSnapshot.getPath(fromNodeId, toNodeId, parents) : null;
+    }
+
+    /**
+     * Creates a view of the subgraph induced by some nodes, sharing this
+     * snapshot's adjacency.
+     *
+     * @param nodes Nodes' identifiers kept by the view.
+     * @return Subgraph's view.
+     */
+    public SubgraphView view(BitSet nodes)
+    {
+        return new SubgraphView(this, nodes, null);
+    }
+
+    /**
+     * Creates a view of the subgraph made of some nodes and of the edges
+     * between them accepted by a predicate, sharing this snapshot's
+     * adjacency.
+     *
+     * @param nodes Nodes' identifiers kept by the view.
+     * @param predicate Edges kept by the view.
+     * @return Subgraph's view.
+     */
+    public SubgraphView view(BitSet nodes, EdgePredicate predicate)
+    {
+        return new SubgraphView(this, nodes, predicate);
+    }
+
+    /**
+     * Gets the identifiers of the nodes called by some names, unknown names
+     * being ignored.
+     *
+     * @param nodeNames Nodes' names.
+     * @return Nodes' identifiers.
+     */
+    public BitSet getNodeMask(Collection<String> nodeNames)
+    {
+        BitSet nodes = new BitSet(this.nodeIndexes.length);
+
+        for(String nodeName : nodeNames)
+        {
+            Integer nodeId = this.nodeIds.get(nodeName);
+
+            if(nodeId != null)
+            {
+                nodes.set(nodeId);
+            }
+        }
+
+        return nodes;
+    }
+}
@@ -0,0 +1,379 @@
+package graphs;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+/**
+ * Approximates the neighbourhood function of a snapshot, that is the number
+ * of pairs of nodes within each distance, with HyperLogLog counters.
+ *
+ * Every node owns a counter which, after t rounds, estimates how many nodes
+ * lie within distance t of it. A round unions each counter with its
+ * neighbours' counters, so the whole distance distribution only takes as
+ * many linear passes as the graph's diameter.
+ *
+ * @author Thomas Arnaud, Bruno Buiret
+ */
+public class HyperAnf
+{
+    /**
+     * Smallest allowed number of registers' logarithm.
+     */
+    public static final int MIN_LOG2_REGISTERS = 4;
+
+    /**
+     * Largest allowed number of registers' logarithm.
+     */
+    public static final int MAX_LOG2_REGISTERS = 16;
+
+    /**
+     * Snapshot being analysed.
+     */
+    protected final GraphSnapshot snapshot;
+
+    /**
+     * Logarithm of the number of registers per counter.
+     */
+    protected final int log2Registers;
+
+    /**
+     * Number of registers per counter.
+     */
+    protected final int registersNumber;
+
+    /**
+     * Seed of the hash function.
+     */
+    protected final long seed;
+
+    /**
+     * Creates a new neighbourhood function engine.
+     *
+     * @param snapshot Snapshot to analyse.
+     * @param log2Registers Logarithm of the number of registers per counter,
+     * between {@link #MIN_LOG2_REGISTERS} and {@link #MAX_LOG2_REGISTERS}: the
+     * higher, the more precise and memory hungry.
+     * @param seed Seed of the hash function.
+     */
+    public HyperAnf(GraphSnapshot snapshot, int log2Registers, long seed)
+    {
+        if(log2Registers < HyperAnf.MIN_LOG2_REGISTERS || log2Registers > HyperAnf.MAX_LOG2_REGISTERS)
+        {
+            throw new IllegalArgumentException(
+                "Registers' logarithm must be between " + HyperAnf.MIN_LOG2_REGISTERS
+                + " and " + HyperAnf.MAX_LOG2_REGISTERS + "."
+            );
+        }
+
+        this.snapshot = snapshot;
+        this.log2Registers = log2Registers;
+        this.registersNumber = 1 << log2Registers;
+        this.seed = seed;
+    }
+
+    /**
+     * Gets the relative standard error of each counter, which also bounds
+     * the relative standard error of the neighbourhood function.
+     *
+     * @return Relative standard error.
+     */
+    public double getRelativeStandardError()
+    {
+        return 1.04 / Math.sqrt(this.registersNumber);
+    }
+
+    /**
+     * Computes the approximate neighbourhood function.
+     *
+     * @param maxRounds Maximum number of rounds, that is the largest distance
+     * considered.
+     * @return Approximate number of ordered pairs of nodes within each
+     * distance, starting with distance <code>0</code>, until no counter
+     * changes anymore.
+     */
+    public double[] computeNeighbourhoodFunction(int maxRounds)
+    {
+        final int nodesNumber = this.snapshot.getNodesNumber();
+
+        if((long) nodesNumber * this.registersNumber > Integer.MAX_VALUE - 8)
+        {
+            throw new IllegalArgumentException("Too many registers for " + nodesNumber + " nodes.");
+        }
+
+        final int[] offsets = this.snapshot.offsets;
+        final int[] targets = this.snapshot.targets;
+        final int registersNumber = this.registersNumber;
+        final byte[][] counters = new byte[][] {new byte[nodesNumber * registersNumber], new byte[nodesNumber * registersNumber]};
+        final boolean[][] modified = new boolean[][] {new boolean[nodesNumber], new boolean[nodesNumber]};
+        final double[] estimates = new double[nodesNumber];
+        double[] neighbourhoodFunction = new double[16];
+        int rounds = 0;
+
+        // Each counter initially only holds its own node
+        for(int nodeId = 0; nodeId < nodesNumber; nodeId++)
+        {
+            this.add(counters[0], nodeId);
+            estimates[nodeId] = this.estimate(counters[0], nodeId);
+            neighbourhoodFunction[0] += estimates[nodeId];
+            modified[0][nodeId] = true;
+        }
+
+        while(rounds < maxRounds)
+        {
+            final byte[] current = counters[rounds % 2];
+            final byte[] next = counters[(rounds + 1) % 2];
+            final boolean[] currentModified = modified[rounds % 2];
+            final boolean[] nextModified = modified[(rounds + 1) % 2];
+
+            System.arraycopy(current, 0, next, 0, current.length);
+
+            IntStream.range(0, nodesNumber).parallel().forEach(new IntConsumer()
+            {
+                @Override
+                public void accept(int nodeId1)
+                {
+                    boolean changed = false;
+                    int base1 = nodeId1 * registersNumber;
+
+                    // Only neighbours whose counter changed can bring news
+                    for(int i = offsets[nodeId1]; i < offsets[nodeId1 + 1]; i++)
+                    {
+                        int nodeId2 = targets[i];
+
+                        if(currentModified[nodeId2])
+                        {
+                            int base2 = nodeId2 * registersNumber;
+
+                            for(int j = 0; j < registersNumber; j++)
+                            {
+                                if(current[base2 + j] > next[base1 + j])
+                                {
+                                    next[base1 + j] = current[base2 + j];
+                                    changed = true;
+                                }
+                            }
+                        }
+                    }
+
+                    nextModified[nodeId1] = changed;
+
+                    if(changed)
+                    {
+                        estimates[nodeId1] = HyperAnf.this.estimate(next, nodeId1);
+                    }
+                }
+            });
+
+            rounds++;
+
+            boolean changed = false;
+            double sum = 0;
+
+            for(int nodeId = 0; nodeId < nodesNumber; nodeId++)
+            {
+                changed |= nextModified[nodeId];
+                sum += estimates[nodeId];
+            }
+
+            if(!changed)
+            {
+                rounds--;
+                break;
+            }
+
+            if(rounds == neighbourhoodFunction.length)
+            {
+                neighbourhoodFunction = Arrays.copyOf(neighbourhoodFunction, 2 * rounds);
+            }
+
+            // The estimates are noisy but the true function never decreases
+            neighbourhoodFunction[rounds] = Math.max(sum, neighbourhoodFunction[rounds - 1]);
+        }
+
+        return Arrays.copyOf(neighbourhoodFunction, rounds + 1);
+    }
+
+    /**
+     * Adds a node to its own counter.
+     *
+     * @param counters Every counter's registers.
+     * @param nodeId Node's identifier.
+     */
+    protected void add(byte[] counters, int nodeId)
+    {
+        // SplitMix64 finalizer
+        long hash = this.seed + (nodeId + 1L) * 0x9E3779B97F4A7C15L;
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        hash = hash ^ (hash >>> 31);
+
+        int register = (int) (hash >>> (64 - this.log2Registers));
+        int rank = Long.numberOfLeadingZeros((hash << this.log2Registers) | (1L << (this.log2Registers - 1))) + 1;
+        int position = nodeId * this.registersNumber + register;
+
+        counters[position] = (byte) Math.max(counters[position], rank);
+    }
+
+    /**
+     * Estimates the number of nodes held by a counter.
+     *
+     * @param counters Every counter's registers.
+     * @param nodeId Counter's node identifier.
+     * @return Estimated number of nodes.
+     */
+    protected double estimate(byte[] counters, int nodeId)
+    {
+        int base = nodeId * this.registersNumber;
+        double sum = 0;
+        int zeros = 0;
+
+        for(int j = 0; j < this.registersNumber; j++)
+        {
+            sum += Math.scalb(1.0, -counters[base + j]);
+
+            if(counters[base + j] == 0)
+            {
+                zeros++;
+            }
+        }
+
+        double alpha;
+
+        switch(this.registersNumber)
+        {
+            case 16:
+                alpha = 0.673;
+                break;
+            case 32:
+                alpha = 0.697;
+                break;
+            case 64:
+                alpha = 0.709;
+                break;
+            default:
+                alpha = 0.7213 / (1 + 1.079 / this.registersNumber);
+        }
+
+        double estimate = alpha * this.registersNumber * this.registersNumber / sum;
+
+        // Small range correction with linear counting
+        if(estimate <= 2.5 * this.registersNumber && zeros > 0)
+        {
+            estimate = this.registersNumber * Math.log((double) this.registersNumber / zeros);
+        }
+
+        return estimate;
+    }
+
+    /**
+     * Gets the distance distribution from a neighbourhood function.
+     *
+     * @param neighbourhoodFunction Neighbourhood function.
+     * @return Approximate number of ordered pairs of distinct nodes at each
+     * distance, starting with distance <code>0</code>.
+     */
+    public static double[] getDistanceDistribution(double[] neighbourhoodFunction)
+    {
+        double[] distribution = new double[neighbourhoodFunction.length];
+
+        for(int distance = 1; distance < neighbourhoodFunction.length; distance++)
+        {
+            distribution[distance] = neighbourhoodFunction[distance] - neighbourhoodFunction[distance - 1];
+        }
+
+        return distribution;
+    }
+
+    /**
+     * Gets the number of reachable ordered pairs of distinct nodes.
+     *
+     * @param neighbourhoodFunction Neighbourhood function.
+     * @return Approximate number of reachable pairs.
+     */
+    public static double getReachablePairsNumber(double[] neighbourhoodFunction)
+    {
+        return neighbourhoodFunction[neighbourhoodFunction.length - 1] - neighbourhoodFunction[0];
+    }
+
+    /**
+     * Gets the average distance between reachable pairs of distinct nodes.
+     *
+     * @param neighbourhoodFunction Neighbourhood function.
+     * @return Approximate average distance.
+     */
+    public static double getAverageDistance(double[] neighbourhoodFunction)
+    {
+        double[] distribution = HyperAnf.getDistanceDistribution(neighbourhoodFunction);
+        double pairs = HyperAnf.getReachablePairsNumber(neighbourhoodFunction);
+        double sum = 0;
+
+        for(int distance = 1; distance < distribution.length; distance++)
+        {
+            sum += distance * distribution[distance];
+        }
+
+        return pairs > 0 ? sum / pairs : 0;
+    }
+
+    /**
+     * Gets the effective diameter, that is the interpolated distance within
+     * which a given fraction of the reachable pairs lie.
+     *
+     * @param neighbourhoodFunction Neighbourhood function.
+     * @param fraction Fraction of reachable pairs, usually <code>0.9</code>.
+     * @return Approximate effective diameter.
+     */
+    public static double getEffectiveDiameter(double[] neighbourhoodFunction, double fraction)
+    {
+        double threshold = neighbourhoodFunction[0] + fraction * HyperAnf.getReachablePairsNumber(neighbourhoodFunction);
+
+        for(int distance = 1; distance < neighbourhoodFunction.length; distance++)
+        {
+            if(neighbourhoodFunction[distance] >= threshold)
+            {
+                double previous = neighbourhoodFunction[distance - 1];
+
+                return distance - 1 + (threshold - previous) / (neighbourhoodFunction[distance] - previous);
+            }
+        }
+
+        return neighbourhoodFunction.length - 1;
+    }
+
+    /**
+     * Prints the approximate distance statistics of a words file's graph, by
+     * default <code>motsdelongueur6.txt</code> with 64 registers per counter.
+     *
+     * @param args Command line's arguments: words file's name and registers'
+     * logarithm.
+     */
+    public static void main(String[] args)
+    {
+        try
+        {
+            String fileName = args.length > 0 ? args[0] : "motsdelongueur6.txt";
+            int log2Registers = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+            Graph graph = Graph.load(fileName);
+
+            if(graph == null)
+            {
+                throw new Exception("Graph couldn't be loaded from " + fileName);
+            }
+
+            HyperAnf anf = new HyperAnf(graph.toSnapshot(NodeOrdering.BREADTH_FIRST), log2Registers, 42);
+            double[] neighbourhoodFunction = anf.computeNeighbourhoodFunction(Integer.MAX_VALUE);
+
+            System.out.println("Erreur relative standard : " + String.format("%.1f", 100 * anf.getRelativeStandardError()) + " %");
+            System.out.println("Le nombre de paires atteignables est d'environ : " + String.format("%.0f", HyperAnf.getReachablePairsNumber(neighbourhoodFunction)));
+            System.out.println("La distance moyenne est d'environ : " + String.format("%.2f", HyperAnf.getAverageDistance(neighbourhoodFunction)));
+            System.out.println("Le diamètre effectif est d'environ : " + String.format("%.2f", HyperAnf.getEffectiveDiameter(neighbourhoodFunction, 0.9)));
+        }
+        catch(Exception e)
+        {
+            Logger.getLogger(HyperAnf.class.getName()).log(Level.SEVERE, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package graphs;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed d-ary min-heap of integer identifiers with decrease-key, as used by
+ * Dijkstra's algorithm.
+ *
+ * Identifiers range from <code>0</code> to the capacity minus one, and each
+ * one remembers its position inside the heap so that its key can be lowered
+ * in logarithmic time.
+ *
+ * @author Thomas Arnaud, Bruno Buiret
+ */
+public class IndexedHeap
+{
+    /**
+     * Number of children of each heap node.
+     */
+    protected static final int ARITY = 4;
+
+    /**
+     * Identifiers, in heap order.
+     */
+    protected final int[] heap;
+
+    /**
+     * Position of each identifier inside {@link #heap}, or <code>-1</code>.
+     */
+    protected final int[] positions;
+
+    /**
+     * Key of each identifier.
+     */
+    protected final double[] keys;
+
+    /**
+     * Number of identifiers inside the heap.
+     */
+    protected int size;
+
+    /**
+     * Creates a new empty heap.
+     *
+     * @param capacity Number of identifiers.
+     */
+    public IndexedHeap(int capacity)
+    {
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.keys = new double[capacity];
+
+        Arrays.fill(this.positions, -1);
+    }
+
+    /**
+     * Tests if the heap is empty.
+     *
+     * @return <code>true</code> if the heap is empty, <code>false</code>
+     * otherwise.
+     */
+    public boolean isEmpty()
+    {
+        return this.size == 0;
+    }
+
+    /**
+     * Tests if an identifier is inside the heap.
+     *
+     * @param id Identifier.
+     * @return <code>true</code> if the identifier is inside the heap,
+     * <code>false</code> otherwise.
+     */
+    public boolean contains(int id)
+    {
+        return this.positions[id] != -1;
+    }
+
+    /**
+     * Gets an identifier's key.
+     *
+     * @param id Identifier, inside the heap.
+     * @return Identifier's key.
+     */
+    public double getKey(int id)
+    {
+        return this.keys[id];
+    }
+
+    /**
+     * Inserts an identifier, or lowers its key if it is already inside the
+     * heap with a greater key.
+     *
+     * @param id Identifier.
+     * @param key Identifier's key.
+     * @return <code>true</code> if the heap changed, <code>false</code>
+     * otherwise.
+     */
+    public boolean insertOrDecrease(int id, double key)
+    {
+        if(this.positions[id] == -1)
+        {
+            this.heap[this.size] = id;
+            this.positions[id] = this.size;
+            this.keys[id] = key;
+            this.siftUp(this.size++);
+
+            return true;
+        }
+        else if(key < this.keys[id])
+        {
+            this.keys[id] = key;
+            this.siftUp(this.positions[id]);
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes the identifier with the smallest key.
+     *
+     * @return Removed identifier.
+     * @throws java.util.NoSuchElementException Thrown if the heap is empty.
+     */
+    public int poll()
+    {
+        if(this.size == 0)
+        {
+            throw new NoSuchElementException();
+        }
+
+        int id = this.heap[0];
+
+        this.positions[id] = -1;
+        this.size--;
+
+        if(this.size > 0)
+        {
+            this.heap[0] = this.heap[this.size];
+            this.positions[this.heap[0]] = 0;
+            this.siftDown(0);
+        }
+
+        return id;
+    }
+
+    /**
+     * Moves an identifier up until its parent's key isn't greater.
+     *
+     * @param position Identifier's position.
+     */
+    protected void siftUp(int position)
+    {
+        int id = this.heap[position];
+        double key = this.keys[id];
+
+        while(position > 0)
+        {
+            int parentPosition = (position - 1) / IndexedHeap.ARITY;
+            int parentId = this.heap[parentPosition];
+
+            if(this.keys[parentId] <= key)
+            {
+                break;
+            }
+
+            this.heap[position] = parentId;
+            this.positions[parentId] = position;
+            position = parentPosition;
+        }
+
+        this.heap[position] = id;
+        this.positions[id] = position;
+    }
+
+    /**
+     * Moves an identifier down until none of its children's keys is smaller.
+     *
+     * @param position Identifier's position.
+     */
+    protected void siftDown(int position)
+    {
+        int id = this.heap[position];
+        double key = this.keys[id];
+
+        while(true)
+        {
+            int firstChild = position * IndexedHeap.ARITY + 1;
+
+            if(firstChild >= this.size)
+            {
+                break;
+            }
+
+            int smallestPosition = firstChild;
+            int lastChild = Math.min(firstChild + IndexedHeap.ARITY, this.size);
+
+            for(int childPosition = firstChild + 1; childPosition < lastChild; childPosition++)
+            {
+                if(this.keys[this.heap[childPosition]] < this.keys[this.heap[smallestPosition]])
+                {
+                    smallestPosition = childPosition;
+                }
+            }
+
+            int smallestId = this.heap[smallestPosition];
+
+            if(this.keys[smallestId] >= key)
+            {
+                break;
+            }
+
+            this.heap[position] = smallestId;
+            this.positions[smallestId] = position;
+            position = smallestPosition;
+        }
+
+        this.heap[position] = id;
+        this.positions[id] = position;
+    }
+}
@@ -0,0 +1,238 @@
+package graphs;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Lazily enumerates the simple paths between two nodes of a graph by
+ * increasing length, using Yen's algorithm.
+ *
+ * Each call to {@link #next()} only computes the spur paths of the previously
+ * returned path, so asking for the first few paths stays cheap.
+ *
+ * @author Thomas Arnaud, Bruno Buiret
+ */
+public class KShortestPathsIterator implements Iterator<LinkedList<Integer>>
+{
+    /**
+     * Graph's edges list.
+     */
+    protected Map<Integer, Set<Integer>> edges;
+
+    /**
+     * End node's index.
+     */
+    protected int endNodeIndex;
+
+    /**
+     * Maximum number of paths to return.
+     */
+    protected int limit;
+
+    /**
+     * Paths already returned.
+     */
+    protected List<List<Integer>> paths;
+
+    /**
+     * Candidate paths, shortest first.
+     */
+    protected PriorityQueue<List<Integer>> candidates;
+
+    /**
+     * Paths already returned or waiting inside the candidates.
+     */
+    protected Set<List<Integer>> knownPaths;
+
+    /**
+     * Next path to return, or <code>null</code> if it hasn't been computed yet.
+     */
+    protected List<Integer> nextPath;
+
+    /**
+     * Tells if every path has already been found.
+     */
+    protected boolean exhausted;
+
+    /**
+     * Creates a new iterator over the shortest simple paths between two nodes.
+     *
+     * @param edges Graph's edges list.
+     * @param startNodeIndex Start node's index.
+     * @param endNodeIndex End node's index.
+     * @param limit Maximum number of paths to return.
+     */
+    public KShortestPathsIterator(Map<Integer, Set<Integer>> edges, int startNodeIndex, int endNodeIndex, int limit)
+    {
+        this.edges = edges;
+        this.endNodeIndex = endNodeIndex;
+        this.limit = limit;
+        this.paths = new ArrayList<List<Integer>>();
+        this.candidates = new PriorityQueue<List<Integer>>(11, new Comparator<List<Integer>>()
+        {
+            @Override
+            public int compare(List<Integer> path1, List<Integer> path2)
+            {
+                return Integer.compare(path1.size(), path2.size());
+            }
+        });
+        this.knownPaths = new HashSet<List<Integer>>();
+
+        if(limit > 0)
+        {
+            this.nextPath = this.breadthFirstSearch(
+                startNodeIndex,
+                new HashSet<Integer>(),
+                new HashMap<Integer, Set<Integer>>()
+            );
+        }
+    }
+
+    /**
+     * Finds a shortest path while ignoring some nodes and edges.
+     *
+     * @param startNodeIndex Start node's index.
+     * @param removedNodes Nodes which can't be used.
+     * @param removedEdges Edges which can't be used, from a node to others.
+     * @return Path from the start node to the end node, or <code>null</code>
+     * if there isn't any.
+     */
+    protected List<Integer> breadthFirstSearch(int startNodeIndex, Set<Integer> removedNodes, Map<Integer, Set<Integer>> removedEdges)
+    {
+        Map<Integer, Integer> parents = new HashMap<Integer, Integer>();
+        Queue<Integer> queue = new LinkedList<Integer>();
+
+        parents.put(startNodeIndex, startNodeIndex);
+        queue.add(startNodeIndex);
+
+        while(!queue.isEmpty())
+        {
+            int nodeIndex1 = queue.remove();
+
+            if(nodeIndex1 == this.endNodeIndex)
+            {
+                LinkedList<Integer> path = new LinkedList<Integer>();
+
+                for(int nodeIndex = nodeIndex1; nodeIndex != startNodeIndex; nodeIndex = parents.get(nodeIndex))
+                {
+                    path.addFirst(nodeIndex);
+                }
+
+                path.addFirst(startNodeIndex);
+
+                return path;
+            }
+
+            Set<Integer> blockedNodes = removedEdges.get(nodeIndex1);
+
+            for(int nodeIndex2 : this.edges.get(nodeIndex1))
+            {
+                if(
+                    !parents.containsKey(nodeIndex2)
+                    && !removedNodes.contains(nodeIndex2)
+                    && (blockedNodes == null || !blockedNodes.contains(nodeIndex2))
+                )
+                {
+                    parents.put(nodeIndex2, nodeIndex1);
+                    queue.add(nodeIndex2);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Computes the spur paths of the last returned path and picks the
+     * shortest remaining candidate.
+     */
+    protected void computeNextPath()
+    {
+        List<Integer> previousPath = this.paths.get(this.paths.size() - 1);
+
+        for(int i = 0; i < previousPath.size() - 1; i++)
+        {
+            int spurNodeIndex = previousPath.get(i);
+            List<Integer> rootPath = previousPath.subList(0, i + 1);
+            Set<Integer> removedNodes = new HashSet<Integer>(previousPath.subList(0, i));
+            Map<Integer, Set<Integer>> removedEdges = new HashMap<Integer, Set<Integer>>();
+
+            // Forbid the edges already used after this root
+            for(List<Integer> path : this.paths)
+            {
+                if(path.size() > i + 1 && path.subList(0, i + 1).equals(rootPath))
+                {
+                    Set<Integer> blockedNodes = removedEdges.get(spurNodeIndex);
+
+                    if(blockedNodes == null)
+                    {
+                        blockedNodes = new HashSet<Integer>();
+                        removedEdges.put(spurNodeIndex, blockedNodes);
+                    }
+
+                    blockedNodes.add(path.get(i + 1));
+                }
+            }
+
+            List<Integer> spurPath = this.breadthFirstSearch(spurNodeIndex, removedNodes, removedEdges);
+
+            if(spurPath != null)
+            {
+                List<Integer> path = new ArrayList<Integer>(rootPath.subList(0, i));
+                path.addAll(spurPath);
+
+                if(this.knownPaths.add(path))
+                {
+                    this.candidates.add(path);
+                }
+            }
+        }
+
+        this.nextPath = this.candidates.poll();
+        this.exhausted = this.nextPath == null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext()
+    {
+        if(this.nextPath == null && !this.exhausted && !this.paths.isEmpty() && this.paths.size() < this.limit)
+        {
+            this.computeNextPath();
+        }
+
+        return this.nextPath != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LinkedList<Integer> next()
+    {
+        if(!this.hasNext())
+        {
+            throw new NoSuchElementException();
+        }
+
+        List<Integer> path = this.nextPath;
+
+        this.nextPath = null;
+        this.paths.add(path);
+        this.knownPaths.add(path);
+
+        return new LinkedList<Integer>(path);
+    }
+}
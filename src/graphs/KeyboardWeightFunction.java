@@ -0,0 +1,83 @@
+package graphs;
+
+/**
+ * Weighs a letter substitution by the distance between both letters on an
+ * AZERTY keyboard, so that ladders made of typos come first.
+ *
+ * Edges which aren't a single substitution weigh <code>1</code>.
+ *
+ * @author Thomas Arnaud, Bruno Buiret
+ */
+public class KeyboardWeightFunction implements EdgeWeightFunction
+{
+    /**
+     * Keyboard's rows of letters.
+     */
+    protected static final String[] ROWS = {"AZERTYUIOP", "QSDFGHJKLM", "WXCVBN"};
+
+    /**
+     * Horizontal shift of each row, in keys.
+     */
+    protected static final double[] SHIFTS = {0, 0.25, 0.75};
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getWeight(String nodeName1, String nodeName2)
+    {
+        if(nodeName1.length() == nodeName2.length())
+        {
+            for(int i = 0; i < nodeName1.length(); i++)
+            {
+                char letter1 = Character.toUpperCase(nodeName1.charAt(i));
+                char letter2 = Character.toUpperCase(nodeName2.charAt(i));
+
+                if(letter1 != letter2)
+                {
+                    return KeyboardWeightFunction.getDistance(letter1, letter2);
+                }
+            }
+        }
+
+        return 1;
+    }
+
+    /**
+     * Computes the distance between two keys.
+     *
+     * @param letter1 Key 1's letter.
+     * @param letter2 Key 2's letter.
+     * @return Distance in keys, or <code>1</code> if one of the letters isn't
+     * on the keyboard.
+     */
+    protected static double getDistance(char letter1, char letter2)
+    {
+        int row1 = -1, row2 = -1, column1 = -1, column2 = -1;
+
+        for(int row = 0; row < KeyboardWeightFunction.ROWS.length; row++)
+        {
+            if(KeyboardWeightFunction.ROWS[row].indexOf(letter1) >= 0)
+            {
+                row1 = row;
+                column1 = KeyboardWeightFunction.ROWS[row].indexOf(letter1);
+            }
+
+            if(KeyboardWeightFunction.ROWS[row].indexOf(letter2) >= 0)
+            {
+                row2 = row;
+                column2 = KeyboardWeightFunction.ROWS[row].indexOf(letter2);
+            }
+        }
+
+        if(row1 == -1 || row2 == -1)
+        {
+            return 1;
+        }
+
+        return Math.hypot(
+            column1 + KeyboardWeightFunction.SHIFTS[row1] - column2 - KeyboardWeightFunction.SHIFTS[row2],
+            row1 - row2
+        );
+    }
+}
@@ -0,0 +1,211 @@
+package graphs;
+
+import java.util.Arrays;
+
+/**
+ * Orders in which the nodes of a snapshot can be numbered.
+ *
+ * Numbering neighbours close to each other keeps their data close in memory,
+ * which makes traversals much friendlier to the processor's caches.
+ *
+ * @author Thomas Arnaud, Bruno Buiret
+ */
+public enum NodeOrdering
+{
+    /**
+     * Nodes are numbered by increasing original index.
+     */
+    NATURAL
+    {
+        @Override
+        protected int[] getOrder(GraphSnapshot snapshot)
+        {
+            long[] keys = new long[snapshot.getNodesNumber()];
+
+            for(int nodeId = 0; nodeId < keys.length; nodeId++)
+            {
+                keys[nodeId] = GraphBuilder.pack(snapshot.getNodeIndex(nodeId), nodeId);
+            }
+
+            Arrays.sort(keys);
+
+            int[] order = new int[keys.length];
+
+            for(int i = 0; i < order.length; i++)
+            {
+                order[i] = GraphBuilder.low(keys[i]);
+            }
+
+            return order;
+        }
+    },
+
+    /**
+     * Nodes are numbered in the order a breadth first search reaches them,
+     * one connected component after the other.
+     */
+    BREADTH_FIRST
+    {
+        @Override
+        protected int[] getOrder(GraphSnapshot snapshot)
+        {
+            int[] starts = NATURAL.getOrder(snapshot);
+
+            return NodeOrdering.breadthFirstOrder(snapshot, starts, false);
+        }
+    },
+
+    /**
+     * Nodes are numbered with the reverse Cuthill-McKee algorithm, which
+     * keeps neighbours' identifiers close to each other.
+     */
+    REVERSE_CUTHILL_MCKEE
+    {
+        @Override
+        protected int[] getOrder(GraphSnapshot snapshot)
+        {
+            // Start each component from one of its lowest degree nodes and
+            // visit neighbours by increasing degree
+            int[] order = NodeOrdering.breadthFirstOrder(snapshot, NodeOrdering.sortByDegree(snapshot, false), true);
+
+            for(int i = 0, j = order.length - 1; i < j; i++, j--)
+            {
+                int swap = order[i];
+                order[i] = order[j];
+                order[j] = swap;
+            }
+
+            return order;
+        }
+    },
+
+    /**
+     * Nodes are numbered by decreasing degree, so that the most visited ones
+     * are packed together.
+     */
+    DEGREE
+    {
+        @Override
+        protected int[] getOrder(GraphSnapshot snapshot)
+        {
+            return NodeOrdering.sortByDegree(snapshot, true);
+        }
+    };
+
+    /**
+     * Computes the order of the nodes.
+     *
+     * @param snapshot Snapshot to renumber.
+     * @return Current identifiers of the nodes, in their new order.
+     */
+    protected abstract int[] getOrder(GraphSnapshot snapshot);
+
+    /**
+     * Sorts the nodes by degree, ties being broken by identifier.
+     *
+     * @param snapshot Snapshot.
+     * @param decreasing <code>true</code> to get the highest degrees first.
+     * @return Nodes' identifiers, sorted.
+     */
+    protected static int[] sortByDegree(GraphSnapshot snapshot, boolean decreasing)
+    {
+        long[] keys = new long[snapshot.getNodesNumber()];
+
+        for(int nodeId = 0; nodeId < keys.length; nodeId++)
+        {
+            int degree = snapshot.getNodeDegree(nodeId);
+
+            keys[nodeId] = ((long) (decreasing ? -degree : degree) << 32) | nodeId;
+        }
+
+        Arrays.sort(keys);
+
+        int[] order = new int[keys.length];
+
+        for(int i = 0; i < order.length; i++)
+        {
+            order[i] = (int) keys[i];
+        }
+
+        return order;
+    }
+
+    /**
+     * Numbers the nodes with breadth first searches.
+     *
+     * @param snapshot Snapshot.
+     * @param starts Candidate start nodes, in order of preference.
+     * @param byDegree <code>true</code> to visit each node's neighbours by
+     * increasing degree, <code>false</code> to visit them by identifier.
+     * @return Nodes' identifiers, in the order they were reached.
+     */
+    protected static int[] breadthFirstOrder(GraphSnapshot snapshot, int[] starts, boolean byDegree)
+    {
+        int[] order = new int[snapshot.getNodesNumber()];
+        boolean[] visitedNodes = new boolean[order.length];
+        long[] neighbours = new long[0];
+        int head = 0, tail = 0;
+
+        for(int startNodeId : starts)
+        {
+            if(visitedNodes[startNodeId])
+            {
+                continue;
+            }
+
+            visitedNodes[startNodeId] = true;
+            order[tail++] = startNodeId;
+
+            while(head < tail)
+            {
+                int nodeId1 = order[head++];
+                int first = snapshot.offsets[nodeId1], last = snapshot.offsets[nodeId1 + 1];
+
+                if(byDegree)
+                {
+                    int count = 0;
+
+                    if(neighbours.length < last - first)
+                    {
+                        neighbours = new long[last - first];
+                    }
+
+                    for(int i = first; i < last; i++)
+                    {
+                        int nodeId2 = snapshot.targets[i];
+
+                        if(!visitedNodes[nodeId2])
+                        {
+                            neighbours[count++] = ((long) snapshot.getNodeDegree(nodeId2) << 32) | nodeId2;
+                        }
+                    }
+
+                    Arrays.sort(neighbours, 0, count);
+
+                    for(int i = 0; i < count; i++)
+                    {
+                        int nodeId2 = (int) neighbours[i];
+
+                        visitedNodes[nodeId2] = true;
+                        order[tail++] = nodeId2;
+                    }
+                }
+                else
+                {
+                    for(int i = first; i < last; i++)
+                    {
+                        int nodeId2 = snapshot.targets[i];
+
+                        if(!visitedNodes[nodeId2])
+                        {
+                            visitedNodes[nodeId2] = true;
+                            order[tail++] = nodeId2;
+                        }
+                    }
+                }
+            }
+        }
+
+        return order;
+    }
+}
@@ -0,0 +1,301 @@
+package graphs;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Load generator measuring the throughput and latency of a query server.
+ *
+ * A fixed number of clients send their share of the requests one after the
+ * other, all of them starting at once, so that latencies reflect the
+ * server's behaviour at that level of concurrency rather than contention
+ * between clients.
+ *
+ * The default run ends with 20000 concurrent clients, the load the server is
+ * meant to absorb. Without virtual threads each client is a platform thread,
+ * so that level needs enough memory and a high enough limit on threads and
+ * open files.
+ *
+ * @author Thomas Arnaud, Bruno Buiret
+ */
+public class QueryLoadGenerator
+{
+    /**
+     * Server's base URL.
+     */
+    protected final String baseUrl;
+
+    /**
+     * Words used to build the queries.
+     */
+    protected final List<String> words;
+
+    /**
+     * Creates a new load generator.
+     *
+     * @param baseUrl Server's base URL, such as <code>http://localhost:8080</code>.
+     * @param words Words used to build the queries.
+     */
+    public QueryLoadGenerator(String baseUrl, List<String> words)
+    {
+        this.baseUrl = baseUrl;
+        this.words = words;
+    }
+
+    /**
+     * Builds a random query, ladders, neighbours, degrees and components
+     * being equally likely.
+     *
+     * @param random Random numbers generator.
+     * @return Query's URL.
+     * @throws java.io.IOException Thrown if the URL can't be built.
+     */
+    protected URL getRandomQuery(Random random) throws IOException
+    {
+        String word1 = URLEncoder.encode(this.words.get(random.nextInt(this.words.size())), "UTF-8");
+        String word2 = URLEncoder.encode(this.words.get(random.nextInt(this.words.size())), "UTF-8");
+
+        switch(random.nextInt(4))
+        {
+            case 0:
+                return new URL(this.baseUrl + "/ladder?from=" + word1 + "&to=" + word2);
+            case 1:
+                return new URL(this.baseUrl + "/neighbours?word=" + word1);
+            case 2:
+                return new URL(this.baseUrl + "/degree?word=" + word1);
+            default:
+                return new URL(this.baseUrl + "/component?word=" + word1);
+        }
+    }
+
+    /**
+     * Sends a query and reads the whole answer.
+     *
+     * @param url Query's URL.
+     * @return HTTP status code.
+     * @throws java.io.IOException Thrown if the query fails.
+     */
+    protected int send(URL url) throws IOException
+    {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+
+        try
+        {
+            int status = connection.getResponseCode();
+            InputStream input = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+
+            if(input != null)
+            {
+                byte[] buffer = new byte[4096];
+
+                while(input.read(buffer) != -1)
+                {
+                }
+
+                input.close();
+            }
+
+            return status;
+        }
+        finally
+        {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * Sends queries from concurrent clients and reports the measures.
+     *
+     * @param requestsNumber Number of queries.
+     * @param concurrency Number of clients, each one sending its share of the
+     * queries one after the other.
+     * @param seed Seed of the random numbers generator.
+     * @return Report of the run.
+     * @throws java.lang.InterruptedException Thrown if interrupted while
+     * waiting for the answers.
+     */
+    public String run(int requestsNumber, int concurrency, long seed) throws InterruptedException
+    {
+        if(concurrency < 1)
+        {
+            throw new IllegalArgumentException("Concurrency must be positive.");
+        }
+
+        final int clientsNumber = Math.min(concurrency, Math.max(1, requestsNumber));
+        final long[] latencies = new long[requestsNumber];
+        final AtomicInteger successes = new AtomicInteger();
+        final AtomicInteger unknownWords = new AtomicInteger();
+        final AtomicInteger failures = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(clientsNumber);
+        final Random random = new Random(seed);
+        ExecutorService executor = QueryServer.newThreadPerTaskExecutor();
+
+        // Queries never answered aren't measured
+        Arrays.fill(latencies, -1);
+
+        for(int i = 0; i < clientsNumber; i++)
+        {
+            // Spread the remainder over the first clients
+            final int first = (int) ((long) requestsNumber * i / clientsNumber);
+            final int last = (int) ((long) requestsNumber * (i + 1) / clientsNumber);
+            final Random clientRandom = new Random(random.nextLong());
+
+            executor.execute(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        start.await();
+
+                        for(int request = first; request < last; request++)
+                        {
+                            long time = System.nanoTime();
+
+                            try
+                            {
+                                int status = QueryLoadGenerator.this.send(QueryLoadGenerator.this.getRandomQuery(clientRandom));
+
+                                if(status == 200)
+                                {
+                                    successes.incrementAndGet();
+                                }
+                                else if(status == 404)
+                                {
+                                    unknownWords.incrementAndGet();
+                                }
+                                else
+                                {
+                                    failures.incrementAndGet();
+                                }
+
+                                latencies[request] = System.nanoTime() - time;
+                            }
+                            catch(IOException ex)
+                            {
+                                failures.incrementAndGet();
+                            }
+                        }
+                    }
+                    catch(InterruptedException ex)
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                    finally
+                    {
+                        done.countDown();
+                    }
+                }
+            });
+        }
+
+        long time = System.nanoTime();
+        start.countDown();
+        done.await();
+        time = System.nanoTime() - time;
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        long[] sortedLatencies = Arrays.copyOf(latencies, latencies.length);
+        Arrays.sort(sortedLatencies);
+
+        int first = 0;
+
+        while(first < sortedLatencies.length && sortedLatencies[first] < 0)
+        {
+            first++;
+        }
+
+        StringBuilder builder = new StringBuilder();
+        builder.append("Clients : ").append(clientsNumber)
+                .append(", requêtes : ").append(requestsNumber)
+                .append(", succès : ").append(successes.get())
+                .append(", mots inconnus : ").append(unknownWords.get())
+                .append(", échecs : ").append(failures.get()).append("\n");
+        builder.append("Durée : ").append(String.format("%.2f", time / 1e9)).append(" s, débit : ")
+                .append(String.format("%.0f", requestsNumber / (time / 1e9))).append(" requêtes/s\n");
+
+        if(first < sortedLatencies.length)
+        {
+            long[] measuredLatencies = Arrays.copyOfRange(sortedLatencies, first, sortedLatencies.length);
+
+            builder.append("Latence p50 : ").append(String.format("%.2f", QueryLoadGenerator.percentile(measuredLatencies, 0.5) / 1e6)).append(" ms\n");
+            builder.append("Latence p99 : ").append(String.format("%.2f", QueryLoadGenerator.percentile(measuredLatencies, 0.99) / 1e6)).append(" ms\n");
+            builder.append("Latence max : ").append(String.format("%.2f", QueryLoadGenerator.percentile(measuredLatencies, 1) / 1e6)).append(" ms\n");
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Gets a percentile of sorted values.
+     *
+     * @param values Sorted values, at least one.
+     * @param fraction Percentile, between <code>0</code> and <code>1</code>.
+     * @return Smallest value greater than or equal to that fraction of the
+     * values.
+     */
+    protected static long percentile(long[] values, double fraction)
+    {
+        int index = (int) Math.ceil(values.length * fraction) - 1;
+
+        return values[Math.max(0, Math.min(values.length - 1, index))];
+    }
+
+    /**
+     * Runs the load generator, by default with 40000 queries against
+     * <code>http://localhost:8080</code> using the words of
+     * <code>motsdelongueur6.txt</code>, once with 1, 64 and 20000 clients.
+     *
+     * @param args Command line's arguments: base URL, number of queries,
+     * words file's name and comma separated numbers of clients.
+     */
+    public static void main(String[] args)
+    {
+        try
+        {
+            String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+            int requestsNumber = args.length > 1 ? Integer.parseInt(args[1]) : 40000;
+            String fileName = args.length > 2 ? args[2] : "motsdelongueur6.txt";
+            String[] concurrencies = (args.length > 3 ? args[3] : "1,64,20000").split(",");
+            List<String> words = new ArrayList<String>();
+            BufferedReader buffer = new BufferedReader(new FileReader(fileName));
+            String line;
+
+            while((line = buffer.readLine()) != null)
+            {
+                words.add(line);
+            }
+
+            buffer.close();
+
+            QueryLoadGenerator generator = new QueryLoadGenerator(baseUrl, words);
+
+            for(String concurrency : concurrencies)
+            {
+                System.out.print(generator.run(requestsNumber, Integer.parseInt(concurrency.trim()), 42));
+            }
+        }
+        catch(Exception e)
+        {
+            Logger.getLogger(QueryLoadGenerator.class.getName()).log(Level.SEVERE, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package graphs;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Local HTTP server answering queries against a graph snapshot.
+ *
+ * Every request is handled by its own thread and reads the snapshot which was
+ * current when it started, so reloading the graph never blocks nor disturbs
+ * the requests in flight. Available queries are:
+ * <ul>
+ * <li><code>/ladder?from=X&amp;to=Y</code>: a shortest ladder between two
+ * words;</li>
+ * <li><code>/neighbours?word=X</code>: a word's neighbours;</li>
+ * <li><code>/degree?word=X</code>: a word's degree;</li>
+ * <li><code>/component?word=X</code>: a word's connected component and its
+ * size.</li>
+ * </ul>
+ *
+ * The JDK server writes each answer's headers and body separately, so unless
+ * the JVM is started with <code>-Dsun.net.httpserver.nodelay=true</code>,
+ * Nagle's algorithm makes the body wait for the client's delayed
+ * acknowledgement and adds about 40 ms to every request. {@link #main(String[])}
+ * sets this property itself.
+ *
+ * @author Thomas Arnaud, Bruno Buiret
+ */
+public class QueryServer
+{
+    /**
+     * Snapshot queries are answered against.
+     */
+    protected final AtomicReference<GraphSnapshot> snapshot;
+
+    /**
+     * Underlying HTTP server.
+     */
+    protected final HttpServer server;
+
+    /**
+     * Executor running one thread per request.
+     */
+    protected final ExecutorService executor;
+
+    /**
+     * Creates a new server listening on the loopback interface.
+     *
+     * @param snapshot Initial snapshot.
+     * @param port Port to listen to.
+     * @param backlog Maximum number of pending connections.
+     * @throws java.io.IOException Thrown if the server can't be bound.
+     */
+    public QueryServer(GraphSnapshot snapshot, int port, int backlog) throws IOException
+    {
+        this.snapshot = new AtomicReference<GraphSnapshot>(snapshot);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), backlog);
+        this.executor = QueryServer.newThreadPerTaskExecutor();
+
+        this.server.setExecutor(this.executor);
+        this.server.createContext("/ladder", new QueryHandler()
+        {
+            @Override
+            protected String answer(GraphSnapshot snapshot, Map<String, String> parameters) throws Exception
+            {
+                int[] path = snapshot.getShortestPath(
+                    QueryServer.getNodeId(snapshot, parameters, "from"),
+                    QueryServer.getNodeId(snapshot, parameters, "to")
+                );
+                StringBuilder builder = new StringBuilder();
+
+                if(path != null)
+                {
+                    for(int nodeId : path)
+                    {
+                        builder.append(snapshot.getNodeName(nodeId)).append("\n");
+                    }
+                }
+
+                return builder.toString();
+            }
+        });
+        this.server.createContext("/neighbours", new QueryHandler()
+        {
+            @Override
+            protected String answer(GraphSnapshot snapshot, Map<String, String> parameters) throws Exception
+            {
+                StringBuilder builder = new StringBuilder();
+
+                for(int nodeId : snapshot.getNeighbours(QueryServer.getNodeId(snapshot, parameters, "word")))
+                {
+                    builder.append(snapshot.getNodeName(nodeId)).append("\n");
+                }
+
+                return builder.toString();
+            }
+        });
+        this.server.createContext("/degree", new QueryHandler()
+        {
+            @Override
+            protected String answer(GraphSnapshot snapshot, Map<String, String> parameters) throws Exception
+            {
+                return snapshot.getNodeDegree(QueryServer.getNodeId(snapshot, parameters, "word")) + "\n";
+            }
+        });
+        this.server.createContext("/component", new QueryHandler()
+        {
+            @Override
+            protected String answer(GraphSnapshot snapshot, Map<String, String> parameters) throws Exception
+            {
+                int component = snapshot.getComponent(QueryServer.getNodeId(snapshot, parameters, "word"));
+
+                return component + " " + snapshot.getComponentSize(component) + "\n";
+            }
+        });
+    }
+
+    /**
+     * Creates an executor running each task on a new thread, using virtual
+     * threads when the running JVM provides them.
+     *
+     * @return Thread per task executor.
+     */
+    public static ExecutorService newThreadPerTaskExecutor()
+    {
+        try
+        {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        catch(ReflectiveOperationException ex)
+        {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Starts answering queries.
+     */
+    public void start()
+    {
+        this.server.start();
+    }
+
+    /**
+     * Stops answering queries.
+     *
+     * @param delay Maximum time to wait for the requests in flight, in seconds.
+     */
+    public void stop(int delay)
+    {
+        this.server.stop(delay);
+        this.executor.shutdown();
+    }
+
+    /**
+     * Gets the port the server listens to.
+     *
+     * @return Server's port.
+     */
+    public int getPort()
+    {
+        return this.server.getAddress().getPort();
+    }
+
+    /**
+     * Gets the current snapshot.
+     *
+     * @return Current snapshot.
+     */
+    public GraphSnapshot getSnapshot()
+    {
+        return this.snapshot.get();
+    }
+
+    /**
+     * Replaces the current snapshot, the requests in flight still using the
+     * previous one.
+     *
+     * @param snapshot New snapshot.
+     */
+    public void setSnapshot(GraphSnapshot snapshot)
+    {
+        this.snapshot.set(snapshot);
+    }
+
+    /**
+     * Reloads the graph from a file and swaps to its snapshot.
+     *
+     * @param fileName File's name.
+     * @throws java.lang.Exception Thrown if the graph can't be loaded.
+     */
+    public void reload(String fileName) throws Exception
+    {
+        Graph graph = Graph.load(fileName);
+
+        if(graph == null)
+        {
+            throw new Exception("Graph couldn't be loaded from " + fileName);
+        }
+
+        this.setSnapshot(graph.toSnapshot());
+    }
+
+    /**
+     * Gets a mandatory parameter.
+     *
+     * @param parameters Query's parameters.
+     * @param name Parameter's name.
+     * @return Parameter's value.
+     * @throws java.lang.IllegalArgumentException Thrown if the parameter
+     * is missing.
+     */
+    protected static String getParameter(Map<String, String> parameters, String name)
+    {
+        String value = parameters.get(name);
+
+        if(value == null)
+        {
+            throw new IllegalArgumentException("Missing parameter " + name);
+        }
+
+        return value;
+    }
+
+    /**
+     * Gets the identifier of the word given by a mandatory parameter.
+     *
+     * @param snapshot Snapshot to use.
+     * @param parameters Query's parameters.
+     * @param name Parameter's name.
+     * @return Word's identifier.
+     * @throws java.lang.IllegalArgumentException Thrown if the parameter
+     * is missing.
+     * @throws graphs.QueryServer.UnknownWordException Thrown if the word
+     * doesn't exist.
+     */
+    protected static int getNodeId(GraphSnapshot snapshot, Map<String, String> parameters, String name) throws UnknownWordException
+    {
+        String word = QueryServer.getParameter(parameters, name);
+        Integer nodeId = snapshot.nodeIds.get(word);
+
+        if(nodeId == null)
+        {
+            throw new UnknownWordException(word);
+        }
+
+        return nodeId;
+    }
+
+    /**
+     * Parses a query string.
+     *
+     * @param query Raw query string, possibly <code>null</code>.
+     * @return Query's parameters.
+     * @throws java.io.UnsupportedEncodingException Never thrown.
+     */
+    protected static Map<String, String> parseQuery(String query) throws UnsupportedEncodingException
+    {
+        Map<String, String> parameters = new HashMap<String, String>();
+
+        if(query != null)
+        {
+            for(String pair : query.split("&"))
+            {
+                int separator = pair.indexOf('=');
+
+                if(separator > 0)
+                {
+                    parameters.put(
+                        URLDecoder.decode(pair.substring(0, separator), "UTF-8"),
+                        URLDecoder.decode(pair.substring(separator + 1), "UTF-8")
+                    );
+                }
+            }
+        }
+
+        return parameters;
+    }
+
+    /**
+     * Exception thrown when a query refers to a word which doesn't exist.
+     */
+    protected static class UnknownWordException extends Exception
+    {
+        /**
+         * Serialization's version.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Creates a new exception.
+         *
+         * @param word Unknown word.
+         */
+        public UnknownWordException(String word)
+        {
+            super("No node called " + word);
+        }
+    }
+
+    /**
+     * Handler answering one kind of query.
+     */
+    protected abstract class QueryHandler implements HttpHandler
+    {
+        /**
+         * Answers a query.
+         *
+         * @param snapshot Snapshot to use.
+         * @param parameters Query's parameters.
+         * @return Answer's body.
+         * @throws java.lang.IllegalArgumentException Thrown if a parameter is
+         * missing.
+         * @throws graphs.QueryServer.UnknownWordException Thrown if a word
+         * doesn't exist.
+         * @throws java.lang.Exception Thrown if the query can't be answered.
+         */
+        protected abstract String answer(GraphSnapshot snapshot, Map<String, String> parameters) throws Exception;
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void handle(HttpExchange exchange) throws IOException
+        {
+            int status;
+            String body;
+
+            try
+            {
+                body = this.answer(QueryServer.this.snapshot.get(), QueryServer.parseQuery(exchange.getRequestURI().getRawQuery()));
+                status = 200;
+            }
+            catch(IllegalArgumentException ex)
+            {
+                body = ex.getMessage() + "\n";
+                status = 400;
+            }
+            catch(UnknownWordException ex)
+            {
+                body = ex.getMessage() + "\n";
+                status = 404;
+            }
+            catch(Exception ex)
+            {
+                // Anything else is a bug of the server, not of the query
+                Logger.getLogger(QueryServer.class.getName()).log(Level.SEVERE, ex.getMessage(), ex);
+                body = "Internal error\n";
+                status = 500;
+            }
+
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+            exchange.sendResponseHeaders(status, bytes.length);
+
+            try(OutputStream output = exchange.getResponseBody())
+            {
+                output.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * Starts a server, by default on port <code>8080</code> with the graph
+     * from <code>motsdelongueur6.txt</code>.
+     *
+     * @param args Command line's arguments: file's name and port.
+     */
+    public static void main(String[] args)
+    {
+        try
+        {
+            String fileName = args.length > 0 ? args[0] : "motsdelongueur6.txt";
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+
+            // Read once by the JDK, so it must be set before the first server
+            if(System.getProperty("sun.net.httpserver.nodelay") == null)
+            {
+                System.setProperty("sun.net.httpserver.nodelay", "true");
+            }
+
+            Graph graph = Graph.load(fileName);
+
+            if(graph == null)
+            {
+                throw new Exception("Graph couldn't be loaded from " + fileName);
+            }
+
+            QueryServer server = new QueryServer(graph.toSnapshot(), port, 4096);
+            server.start();
+
+            System.out.println("Le serveur écoute sur le port " + server.getPort());
+        }
+        catch(Exception e)
+        {
+            Logger.getLogger(QueryServer.class.getName()).log(Level.SEVERE, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package graphs;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Lazily enumerates every shortest path between two nodes of a graph.
+ *
+ * The shortest path DAG is discovered once with a bidirectional breadth first
+ * search; paths are then produced one at a time by walking that DAG, so the
+ * cost of each path is proportional to its length and not to the number of
+ * equally short paths.
+ *
+ * @author Thomas Arnaud, Bruno Buiret
+ */
+public class ShortestPathsIterator implements Iterator<LinkedList<Integer>>
+{
+    /**
+     * Graph's edges list.
+     */
+    protected Map<Integer, Set<Integer>> edges;
+
+    /**
+     * Distances from the start node.
+     */
+    protected Map<Integer, Integer> forwardDistances;
+
+    /**
+     * Distances to the end node.
+     */
+    protected Map<Integer, Integer> backwardDistances;
+
+    /**
+     * Shortest paths' length, in edges, or <code>-1</code> if there isn't any.
+     */
+    protected int length;
+
+    /**
+     * Position of the meeting nodes inside a path.
+     */
+    protected int middle;
+
+    /**
+     * Nodes where both searches met.
+     */
+    protected int[] meetingNodes;
+
+    /**
+     * Order in which the positions of a path are filled.
+     */
+    protected int[] fillOrder;
+
+    /**
+     * Candidates for each step of the fill order.
+     */
+    protected int[][] candidates;
+
+    /**
+     * Current candidate for each step of the fill order.
+     */
+    protected int[] cursors;
+
+    /**
+     * Path being enumerated.
+     */
+    protected int[] path;
+
+    /**
+     * Tells if {@link #path} holds a path which hasn't been returned yet.
+     */
+    protected boolean pending;
+
+    /**
+     * Creates a new iterator over the shortest paths between two nodes.
+     *
+     * @param edges Graph's edges list.
+     * @param startNodeIndex Start node's index.
+     * @param endNodeIndex End node's index.
+     */
+    public ShortestPathsIterator(Map<Integer, Set<Integer>> edges, int startNodeIndex, int endNodeIndex)
+    {
+        this.edges = edges;
+        this.forwardDistances = new HashMap<Integer, Integer>();
+        this.backwardDistances = new HashMap<Integer, Integer>();
+        this.length = -1;
+
+        this.search(startNodeIndex, endNodeIndex);
+
+        if(this.length >= 0)
+        {
+            this.path = new int[this.length + 1];
+            this.fillOrder = new int[this.length + 1];
+            this.candidates = new int[this.length + 1][];
+            this.cursors = new int[this.length + 1];
+
+            // Fill the meeting node first, then walk back to the start node
+            // and finally walk forward to the end node
+            int step = 0;
+
+            for(int position = this.middle; position >= 0; position--)
+            {
+                this.fillOrder[step++] = position;
+            }
+
+            for(int position = this.middle + 1; position <= this.length; position++)
+            {
+                this.fillOrder[step++] = position;
+            }
+
+            this.fill(0);
+            this.pending = true;
+        }
+    }
+
+    /**
+     * Performs the bidirectional breadth first search which discovers the
+     * shortest path DAG.
+     *
+     * @param startNodeIndex Start node's index.
+     * @param endNodeIndex End node's index.
+     */
+    protected void search(int startNodeIndex, int endNodeIndex)
+    {
+        this.forwardDistances.put(startNodeIndex, 0);
+        this.backwardDistances.put(endNodeIndex, 0);
+
+        if(startNodeIndex == endNodeIndex)
+        {
+            this.length = 0;
+            this.middle = 0;
+            this.meetingNodes = new int[] {startNodeIndex};
+
+            return;
+        }
+
+        List<Integer> forwardFrontier = new ArrayList<Integer>();
+        List<Integer> backwardFrontier = new ArrayList<Integer>();
+        int forwardDepth = 0, backwardDepth = 0;
+
+        forwardFrontier.add(startNodeIndex);
+        backwardFrontier.add(endNodeIndex);
+
+        while(!forwardFrontier.isEmpty() && !backwardFrontier.isEmpty())
+        {
+            // Always expand the smallest frontier by a whole layer
+            boolean forward = forwardFrontier.size() <= backwardFrontier.size();
+            List<Integer> frontier = forward ? forwardFrontier : backwardFrontier;
+            Map<Integer, Integer> distances = forward ? this.forwardDistances : this.backwardDistances;
+            Map<Integer, Integer> otherDistances = forward ? this.backwardDistances : this.forwardDistances;
+            int depth = (forward ? forwardDepth : backwardDepth) + 1;
+            List<Integer> nextFrontier = new ArrayList<Integer>();
+            List<Integer> meetingNodes = new ArrayList<Integer>();
+
+            for(int nodeIndex1 : frontier)
+            {
+                for(int nodeIndex2 : this.edges.get(nodeIndex1))
+                {
+                    if(!distances.containsKey(nodeIndex2))
+                    {
+                        distances.put(nodeIndex2, depth);
+                        nextFrontier.add(nodeIndex2);
+
+                        if(otherDistances.containsKey(nodeIndex2))
+                        {
+                            meetingNodes.add(nodeIndex2);
+                        }
+                    }
+                }
+            }
+
+            if(forward)
+            {
+                forwardFrontier = nextFrontier;
+                forwardDepth = depth;
+            }
+            else
+            {
+                backwardFrontier = nextFrontier;
+                backwardDepth = depth;
+            }
+
+            if(!meetingNodes.isEmpty())
+            {
+                // Both searches were disjoint before this layer, so every
+                // meeting node lies at the same position of every path
+                this.length = forwardDepth + backwardDepth;
+                this.middle = this.forwardDistances.get(meetingNodes.get(0));
+                this.meetingNodes = new int[meetingNodes.size()];
+
+                for(int i = 0; i < this.meetingNodes.length; i++)
+                {
+                    this.meetingNodes[i] = meetingNodes.get(i);
+                }
+
+                return;
+            }
+        }
+    }
+
+    /**
+     * Fills the path from a step of the fill order to the last one, always
+     * taking the first candidate.
+     *
+     * @param firstStep First step to fill.
+     */
+    protected void fill(int firstStep)
+    {
+        for(int step = firstStep; step < this.fillOrder.length; step++)
+        {
+            this.candidates[step] = this.getCandidates(this.fillOrder[step]);
+            this.cursors[step] = 0;
+            this.path[this.fillOrder[step]] = this.candidates[step][0];
+        }
+    }
+
+    /**
+     * Gets the nodes which can be placed at a position of the path, given the
+     * positions which have already been filled.
+     *
+     * @param position Position inside the path.
+     * @return Candidate nodes, never empty.
+     */
+    protected int[] getCandidates(int position)
+    {
+        if(position == this.middle)
+        {
+            return this.meetingNodes;
+        }
+
+        int previousNodeIndex;
+        Map<Integer, Integer> distances;
+        int distance;
+
+        if(position < this.middle)
+        {
+            // Predecessor of the next node towards the start node
+            previousNodeIndex = this.path[position + 1];
+            distances = this.forwardDistances;
+            distance = position;
+        }
+        else
+        {
+            // Successor of the previous node towards the end node
+            previousNodeIndex = this.path[position - 1];
+            distances = this.backwardDistances;
+            distance = this.length - position;
+        }
+
+        List<Integer> nodes = new ArrayList<Integer>();
+
+        for(int nodeIndex : this.edges.get(previousNodeIndex))
+        {
+            Integer nodeDistance = distances.get(nodeIndex);
+
+            if(nodeDistance != null && nodeDistance == distance)
+            {
+                nodes.add(nodeIndex);
+            }
+        }
+
+        int[] candidates = new int[nodes.size()];
+
+        for(int i = 0; i < candidates.length; i++)
+        {
+            candidates[i] = nodes.get(i);
+        }
+
+        return candidates;
+    }
+
+    /**
+     * Moves to the next path, if any.
+     */
+    protected void advance()
+    {
+        for(int step = this.fillOrder.length - 1; step >= 0; step--)
+        {
+            if(this.cursors[step] + 1 < this.candidates[step].length)
+            {
+                this.cursors[step]++;
+                this.path[this.fillOrder[step]] = this.candidates[step][this.cursors[step]];
+                this.fill(step + 1);
+                this.pending = true;
+
+                return;
+            }
+        }
+
+        this.pending = false;
+    }
+
+    /**
+     * Gets the shortest paths' length.
+     *
+     * @return Shortest paths' length, in edges, or <code>-1</code> if both
+     * nodes aren't connected.
+     */
+    public int getLength()
+    {
+        return this.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext()
+    {
+        return this.pending;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LinkedList<Integer> next()
+    {
+        if(!this.pending)
+        {
+            throw new NoSuchElementException();
+        }
+
+        LinkedList<Integer> chain = new LinkedList<Integer>();
+
+        for(int nodeIndex : this.path)
+        {
+            chain.add(nodeIndex);
+        }
+
+        this.advance();
+
+        return chain;
+    }
+}
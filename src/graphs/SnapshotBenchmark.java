@@ -0,0 +1,190 @@
+package graphs;
+
+import java.util.Random;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Benchmark comparing breadth first searches and connected components
+ * labelling on snapshots numbered in each {@link NodeOrdering}.
+ *
+ * @author Thomas Arnaud, Bruno Buiret
+ */
+public class SnapshotBenchmark
+{
+    /**
+     * Number of timed rounds, the best one being kept.
+     */
+    protected static final int ROUNDS_NUMBER = 5;
+
+    /**
+     * Builds a square grid whose nodes are given shuffled indexes, the way
+     * file order scatters neighbours.
+     *
+     * @param side Grid's side.
+     * @param seed Seed of the random numbers generator.
+     * @return Grid's snapshot.
+     */
+    public static GraphSnapshot createShuffledGrid(int side, long seed)
+    {
+        int nodesNumber = side * side;
+        int[] nodeIndexes = new int[nodesNumber];
+        Random random = new Random(seed);
+
+        for(int i = 0; i < nodesNumber; i++)
+        {
+            nodeIndexes[i] = i;
+        }
+
+        for(int i = nodesNumber - 1; i > 0; i--)
+        {
+            int j = random.nextInt(i + 1);
+            int swap = nodeIndexes[i];
+            nodeIndexes[i] = nodeIndexes[j];
+            nodeIndexes[j] = swap;
+        }
+
+        GraphBuilder builder = new GraphBuilder("grid", nodesNumber, 2 * nodesNumber);
+        builder.addNodes(nodeIndexes);
+
+        for(int row = 0; row < side; row++)
+        {
+            for(int column = 0; column < side; column++)
+            {
+                int cell = row * side + column;
+
+                if(column + 1 < side)
+                {
+                    builder.addEdge(nodeIndexes[cell], nodeIndexes[cell + 1]);
+                }
+
+                if(row + 1 < side)
+                {
+                    builder.addEdge(nodeIndexes[cell], nodeIndexes[cell + side]);
+                }
+            }
+        }
+
+        return builder.buildSnapshot();
+    }
+
+    /**
+     * Times breadth first searches from given nodes.
+     *
+     * @param snapshot Snapshot.
+     * @param startNodeIndexes Start nodes' original indexes.
+     * @return Best round's duration, in milliseconds.
+     */
+    public static double timeBreadthFirstSearches(GraphSnapshot snapshot, int[] startNodeIndexes)
+    {
+        // Translate the original indexes once, outside of the timed rounds
+        int[] startNodeIds = new int[startNodeIndexes.length];
+
+        for(int nodeId = 0; nodeId < snapshot.getNodesNumber(); nodeId++)
+        {
+            for(int i = 0; i < startNodeIndexes.length; i++)
+            {
+                if(snapshot.getNodeIndex(nodeId) == startNodeIndexes[i])
+                {
+                    startNodeIds[i] = nodeId;
+                }
+            }
+        }
+
+        double best = Double.MAX_VALUE;
+
+        for(int round = 0; round < SnapshotBenchmark.ROUNDS_NUMBER; round++)
+        {
+            long time = System.nanoTime();
+
+            for(int startNodeId : startNodeIds)
+            {
+                snapshot.getDistances(startNodeId);
+            }
+
+            best = Math.min(best, (System.nanoTime() - time) / 1e6);
+        }
+
+        return best;
+    }
+
+    /**
+     * Times connected components labelling.
+     *
+     * @param snapshot Snapshot.
+     * @return Best round's duration, in milliseconds.
+     */
+    public static double timeComponents(GraphSnapshot snapshot)
+    {
+        int[] components = new int[snapshot.getNodesNumber()];
+        double best = Double.MAX_VALUE;
+
+        for(int round = 0; round < SnapshotBenchmark.ROUNDS_NUMBER; round++)
+        {
+            long time = System.nanoTime();
+            snapshot.labelComponents(components);
+            best = Math.min(best, (System.nanoTime() - time) / 1e6);
+        }
+
+        return best;
+    }
+
+    /**
+     * Runs the benchmark, either on the graph of a words file or, without
+     * arguments, on a shuffled 1000 by 1000 grid.
+     *
+     * @param args Command line's arguments: words file's name.
+     */
+    public static void main(String[] args)
+    {
+        try
+        {
+            GraphSnapshot snapshot;
+
+            if(args.length > 0)
+            {
+                Graph graph = Graph.load(args[0]);
+
+                if(graph == null)
+                {
+                    throw new Exception("Graph couldn't be loaded from " + args[0]);
+                }
+
+                snapshot = graph.toSnapshot();
+            }
+            else
+            {
+                snapshot = SnapshotBenchmark.createShuffledGrid(1000, 42);
+            }
+
+            Random random = new Random(42);
+            int[] startNodeIndexes = new int[20];
+
+            for(int i = 0; i < startNodeIndexes.length; i++)
+            {
+                startNodeIndexes[i] = snapshot.getNodeIndex(random.nextInt(snapshot.getNodesNumber()));
+            }
+
+            System.out.println("Sommets : " + snapshot.getNodesNumber() + ", arêtes : " + snapshot.getEdgesNumber());
+
+            for(NodeOrdering ordering : NodeOrdering.values())
+            {
+                GraphSnapshot reordered = snapshot.reorder(ordering);
+
+                // Warm up before timing
+                SnapshotBenchmark.timeComponents(reordered);
+
+                System.out.println(String.format(
+                    "%-22s parcours en largeur : %8.2f ms, composantes connexes : %8.2f ms",
+                    ordering,
+                    SnapshotBenchmark.timeBreadthFirstSearches(reordered, startNodeIndexes),
+                    SnapshotBenchmark.timeComponents(reordered)
+                ));
+            }
+        }
+        catch(Exception e)
+        {
+            Logger.getLogger(SnapshotBenchmark.class.getName()).log(Level.SEVERE, e.getMessage(), e);
+        }
+    }
+}
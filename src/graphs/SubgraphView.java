@@ -0,0 +1,255 @@
+package graphs;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Read-only view of a subgraph of a snapshot, made of the nodes of a mask and
+ * of the edges between them accepted by an optional predicate.
+ *
+ * The view only holds its mask, one bit per node of the snapshot, and filters
+ * the snapshot's adjacency while traversing it, so creating a view takes
+ * linear time in the number of nodes divided by 64 and any number of views
+ * can share the same snapshot, from as many threads as needed. Nodes keep
+ * their snapshot's identifiers.
+ *
+ * @author Thomas Arnaud, Bruno Buiret
+ */
+public class SubgraphView
+{
+    /**
+     * Snapshot this view filters.
+     */
+    protected final GraphSnapshot snapshot;
+
+    /**
+     * Nodes of the view, one bit per node of the snapshot.
+     */
+    protected final long[] mask;
+
+    /**
+     * Edges of the view, or <code>null</code> for every edge between nodes
+     * of the view.
+     */
+    protected final EdgePredicate predicate;
+
+    /**
+     * Number of nodes of the view.
+     */
+    protected final int nodesNumber;
+
+    /**
+     * Creates a new view.
+     *
+     * @param snapshot Snapshot to filter.
+     * @param nodes Nodes' identifiers kept by the view, identifiers beyond
+     * the snapshot's nodes being ignored.
+     * @param predicate Edges kept by the view, or <code>null</code> for every
+     * edge between kept nodes.
+     */
+    public SubgraphView(GraphSnapshot snapshot, BitSet nodes, EdgePredicate predicate)
+    {
+        int nodesNumber = snapshot.getNodesNumber();
+        long[] mask = Arrays.copyOf(nodes.toLongArray(), (nodesNumber + 63) >>> 6);
+        int count = 0;
+
+        if((nodesNumber & 63) != 0)
+        {
+            mask[mask.length - 1] &= (1L << nodesNumber) - 1;
+        }
+
+        for(long word : mask)
+        {
+            count += Long.bitCount(word);
+        }
+
+        this.snapshot = snapshot;
+        this.mask = mask;
+        this.predicate = predicate;
+        this.nodesNumber = count;
+    }
+
+    /**
+     * Gets the snapshot this view filters.
+     *
+     * @return Snapshot.
+     */
+    public GraphSnapshot getSnapshot()
+    {
+        return this.snapshot;
+    }
+
+    /**
+     * Tests if a node belongs to the view.
+     *
+     * @param nodeId Node's identifier.
+     * @return <code>true</code> if the node belongs to the view,
+     * <code>false</code> otherwise.
+     */
+    public boolean containsNode(int nodeId)
+    {
+        return nodeId >= 0 && nodeId < this.snapshot.getNodesNumber() && GraphSnapshot.contains(this.mask, nodeId);
+    }
+
+    /**
+     * Gets the number of nodes of the view.
+     *
+     * @return Nodes number.
+     */
+    public int getNodesNumber()
+    {
+        return this.nodesNumber;
+    }
+
+    /**
+     * Gets the number of neighbours of a node inside the view.
+     *
+     * @param nodeId Node's identifier.
+     * @return Node's degree.
+     */
+    public int getNodeDegree(int nodeId)
+    {
+        this.checkNode(nodeId);
+
+        int degree = 0;
+
+        for(int i = this.snapshot.offsets[nodeId]; i < this.snapshot.offsets[nodeId + 1]; i++)
+        {
+            if(GraphSnapshot.isTraversable(this.mask, this.predicate, nodeId, this.snapshot.targets[i]))
+            {
+                degree++;
+            }
+        }
+
+        return degree;
+    }
+
+    /**
+     * Gets the neighbours of a node inside the view.
+     *
+     * @param nodeId Node's identifier.
+     * @return Neighbours' identifiers, sorted.
+     */
+    public int[] getNeighbours(int nodeId)
+    {
+        this.checkNode(nodeId);
+
+        int[] neighbours = new int[this.snapshot.getNodeDegree(nodeId)];
+        int count = 0;
+
+        for(int i = this.snapshot.offsets[nodeId]; i < this.snapshot.offsets[nodeId + 1]; i++)
+        {
+            int nodeId2 = this.snapshot.targets[i];
+
+            if(GraphSnapshot.isTraversable(this.mask, this.predicate, nodeId, nodeId2))
+            {
+                neighbours[count++] = nodeId2;
+            }
+        }
+
+        return Arrays.copyOf(neighbours, count);
+    }
+
+    /**
+     * Labels the connected components of the view with breadth first
+     * searches.
+     *
+     * @param components Where to store the component of each node of the
+     * snapshot, <code>-1</code> for nodes outside of the view.
+     * @return Size of each connected component.
+     */
+    public int[] labelComponents(int[] components)
+    {
+        return this.snapshot.labelComponents(components, this.mask, this.predicate);
+    }
+
+    /**
+     * Computes the distances from a node inside the view with a breadth first
+     * search.
+     *
+     * @param fromNodeId Start node's identifier.
+     * @return Distance to each node of the snapshot, <code>-1</code> for
+     * unreachable ones.
+     */
+    public int[] getDistances(int fromNodeId)
+    {
+        this.checkNode(fromNodeId);
+
+        return this.snapshot.getDistances(fromNodeId, this.mask, this.predicate);
+    }
+
+    /**
+     * Finds a shortest path between two nodes inside the view with a breadth
+     * first search.
+     *
+     * @param fromNodeId Start node's identifier.
+     * @param toNodeId End node's identifier.
+     * @return Nodes' identifiers along the path, or <code>null</code> if both
+     * nodes aren't connected inside the view.
+     */
+    public int[] getShortestPath(int fromNodeId, int toNodeId)
+    {
+        this.checkNode(fromNodeId);
+        this.checkNode(toNodeId);
+
+        // Both nodes must at least be connected inside the whole snapshot
+        if(this.snapshot.getComponent(fromNodeId) != this.snapshot.getComponent(toNodeId))
+        {
+            return null;
+        }
+
+        return this.snapshot.getShortestPath(fromNodeId, toNodeId, this.mask, this.predicate);
+    }
+
+    /**
+     * Computes the weighted distances from a node inside the view with
+     * Dijkstra's algorithm.
+     *
+     * @param fromNodeId Start node's identifier.
+     * @return Distance to each node of the snapshot, <code>+Infinity</code>
+     * for unreachable ones.
+     */
+    public double[] getWeightedDistances(int fromNodeId)
+    {
+        this.checkNode(fromNodeId);
+
+        return this.snapshot.getWeightedDistances(fromNodeId, this.mask, this.predicate);
+    }
+
+    /**
+     * Finds a lightest path between two nodes inside the view with Dijkstra's
+     * algorithm.
+     *
+     * @param fromNodeId Start node's identifier.
+     * @param toNodeId End node's identifier.
+     * @return Nodes' identifiers along the path, or <code>null</code> if both
+     * nodes aren't connected inside the view.
+     */
+    public int[] getWeightedShortestPath(int fromNodeId, int toNodeId)
+    {
+        this.checkNode(fromNodeId);
+        this.checkNode(toNodeId);
+
+        if(this.snapshot.getComponent(fromNodeId) != this.snapshot.getComponent(toNodeId))
+        {
+            return null;
+        }
+
+        return this.snapshot.getWeightedShortestPath(fromNodeId, toNodeId, this.mask, this.predicate);
+    }
+
+    /**
+     * Checks that a node belongs to the view.
+     *
+     * @param nodeId Node's identifier.
+     * @throws java.lang.IllegalArgumentException Thrown if the node doesn't
+     * belong to the view.
+     */
+    protected void checkNode(int nodeId)
+    {
+        if(!this.containsNode(nodeId))
+        {
+            throw new IllegalArgumentException("Node #" + nodeId + " isn't part of the view.");
+        }
+    }
+}